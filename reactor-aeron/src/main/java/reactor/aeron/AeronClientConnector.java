@@ -43,7 +43,8 @@ final class AeronClientConnector {
   Mono<AeronConnection> start() {
     return Mono.defer(
         () -> {
-          AeronEventLoop eventLoop = resources.nextEventLoop();
+          AeronEventLoop eventLoop =
+              resources.nextEventLoop(options.outboundUri().asString());
 
           return tryConnect(eventLoop)
               .flatMap(
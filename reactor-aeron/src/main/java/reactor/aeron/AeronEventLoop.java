@@ -6,30 +6,57 @@
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.management.StandardMBean;
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.CachedNanoClock;
 import org.agrona.concurrent.IdleStrategy;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import org.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 import reactor.core.publisher.MonoSink;
 
-final class AeronEventLoop implements OnDisposable {
+final class AeronEventLoop implements OnDisposable, WorkerLoad {
 
   private static final Logger logger = LoggerFactory.getLogger(AeronEventLoop.class);
 
+  private static final int TIMER_TICK_RESOLUTION = 1 << 20; // ns, ~1 ms
+  private static final int TIMER_TICKS_PER_WHEEL = 1024;
+  private static final int TIMER_EXPIRY_LIMIT = 64;
+
+  private static final int COMMAND_QUEUE_CAPACITY = 1024;
+  private static final int COMMAND_DRAIN_LIMIT = 64;
+
   private final IdleStrategy idleStrategy;
+  private final int pollFragmentBudget;
+  private final ThreadFactory threadFactory;
+  private final String cpuAffinity;
 
   private final String name;
   private final int workerId; // worker id
   private final int groupId; // event loop group id
 
-  private final Queue<CommandTask> commands = new ConcurrentLinkedQueue<>();
-  private final List<AeronResource> resources = new ArrayList<>();
+  private final ManyToOneConcurrentArrayQueue<CommandTask> commands =
+      new ManyToOneConcurrentArrayQueue<>(COMMAND_QUEUE_CAPACITY);
+  // takes commands releasing resources once ring is full, see submit()
+  private final Queue<CommandTask> overflowCommands = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger overflowCount = new AtomicInteger();
+  private final ManyToManyConcurrentArrayQueue<CommandTask> commandPool =
+      new ManyToManyConcurrentArrayQueue<>(COMMAND_QUEUE_CAPACITY);
+  private final Consumer<CommandTask> commandRunner = this::runCommand;
+  private final ResourceList<AeronResource> resources = new ResourceList<>();
+
+  private final CachedNanoClock clock = new CachedNanoClock();
+  private final DeadlineTimerWheel timerWheel;
+  private final Long2ObjectHashMap<Runnable> timerTasks = new Long2ObjectHashMap<>();
 
   private final MonoProcessor<Void> dispose = MonoProcessor.create();
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
@@ -37,9 +64,13 @@ final class AeronEventLoop implements OnDisposable {
   private final Mono<Worker> workerMono;
 
   private volatile Thread thread;
+  private volatile WorkerFlightRecorder flightRecorder;
+  private volatile int connectionCount; // written by worker thread only
 
-  private List<MessagePublication> publications = new ArrayList<>();
-  private List<DefaultAeronInbound> inbounds = new ArrayList<>();
+  private final ResourceList<MessagePublication> publications = new ResourceList<>();
+  private final ResourceList<MessagePublication> parkedPublications = new ResourceList<>();
+  private final ResourceList<DefaultAeronInbound> inbounds = new ResourceList<>();
+  private int inboundIndex;
 
   /**
    * Constructor.
@@ -48,18 +79,37 @@ final class AeronEventLoop implements OnDisposable {
    * @param workerId worker id
    * @param groupId id of parent {@link AeronEventLoopGroup}
    * @param idleStrategy {@link IdleStrategy} instance for this event loop
+   * @param pollFragmentBudget total number of fragments polled from all inbounds per duty cycle
+   * @param threadFactory factory of worker thread, {@code null} for default one
+   * @param cpuAffinity CPU list which worker thread pins itself to (see {@link CpuAffinity}), or
+   *     {@code null}
    */
-  AeronEventLoop(String name, int workerId, int groupId, IdleStrategy idleStrategy) {
+  AeronEventLoop(
+      String name,
+      int workerId,
+      int groupId,
+      IdleStrategy idleStrategy,
+      int pollFragmentBudget,
+      ThreadFactory threadFactory,
+      String cpuAffinity) {
     this.name = name;
     this.workerId = workerId;
     this.groupId = groupId;
     this.idleStrategy = idleStrategy;
+    this.pollFragmentBudget = pollFragmentBudget;
+    this.threadFactory = threadFactory != null ? threadFactory : Thread::new;
+    this.cpuAffinity = cpuAffinity;
+    long now = System.nanoTime();
+    this.clock.update(now);
+    this.timerWheel =
+        new DeadlineTimerWheel(
+            TimeUnit.NANOSECONDS, now, TIMER_TICK_RESOLUTION, TIMER_TICKS_PER_WHEEL);
     this.workerMono = Mono.fromCallable(this::createWorker).cache();
   }
 
-  private static ThreadFactory defaultThreadFactory(String threadName) {
+  private static ThreadFactory namedThreadFactory(ThreadFactory threadFactory, String threadName) {
     return r -> {
-      Thread thread = new Thread(r);
+      Thread thread = threadFactory.newThread(r);
       thread.setName(threadName);
       thread.setUncaughtExceptionHandler(
           (t, e) -> logger.error("Uncaught exception occurred: ", e));
@@ -69,7 +119,7 @@ private static ThreadFactory defaultThreadFactory(String threadName) {
 
   private Worker createWorker() throws Exception {
     final String threadName = String.format("%s-%x-%d", name, groupId, workerId);
-    final ThreadFactory threadFactory = defaultThreadFactory(threadName);
+    final ThreadFactory threadFactory = namedThreadFactory(this.threadFactory, threadName);
 
     WorkerFlightRecorder flightRecorder = new WorkerFlightRecorder();
     MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
@@ -77,6 +127,7 @@ private Worker createWorker() throws Exception {
     StandardMBean standardMBean = new StandardMBean(flightRecorder, WorkerMBean.class);
     mbeanServer.registerMBean(standardMBean, objectName);
 
+    this.flightRecorder = flightRecorder;
     Worker worker = new Worker(flightRecorder);
     thread = threadFactory.newThread(worker);
     thread.start();
@@ -84,6 +135,26 @@ private Worker createWorker() throws Exception {
     return worker;
   }
 
+  @Override
+  public int workerId() {
+    return workerId;
+  }
+
+  @Override
+  public int connectionCount() {
+    return connectionCount;
+  }
+
+  @Override
+  public double busyRate() {
+    WorkerFlightRecorder flightRecorder = this.flightRecorder;
+    if (flightRecorder == null) {
+      return 0;
+    }
+    double idleRate = flightRecorder.getIdleRate();
+    return Double.isNaN(idleRate) ? 0 : Math.max(0, Math.min(1, 1 - idleRate));
+  }
+
   /**
    * Returns {@code true} if client called this method from within worker thread of {@link
    * AeronEventLoop}, and {@code false} otherwise.
@@ -95,6 +166,43 @@ boolean inEventLoop() {
     return thread == Thread.currentThread();
   }
 
+  /**
+   * Returns time in nanoseconds sampled once per duty cycle of event loop. Must be called from
+   * within worker thread, use it instead of {@link System#nanoTime()} on hot paths.
+   *
+   * @return cached time in nanoseconds
+   */
+  long nanoTime() {
+    return clock.nanoTime();
+  }
+
+  /**
+   * Schedules task to be run on worker thread once {@link #nanoTime()} reaches given deadline. Must
+   * be called from within worker thread. Timers are checked once per duty cycle with resolution of
+   * about a millisecond.
+   *
+   * @param deadline deadline in nanoseconds, see {@link #nanoTime()}
+   * @param task task to run on expiry
+   * @return timer id for {@link #cancelTimer(long)}
+   */
+  long scheduleTimer(long deadline, Runnable task) {
+    long timerId = timerWheel.scheduleTimer(deadline);
+    timerTasks.put(timerId, task);
+    return timerId;
+  }
+
+  /**
+   * Cancels timer scheduled by {@link #scheduleTimer(long, Runnable)}. Must be called from within
+   * worker thread. Does nothing if timer already expired or was cancelled.
+   *
+   * @param timerId timer id
+   */
+  void cancelTimer(long timerId) {
+    if (timerTasks.remove(timerId) != null) {
+      timerWheel.cancelTimer(timerId);
+    }
+  }
+
   /**
    * Registers aeron resource in event loop.
    *
@@ -102,18 +210,47 @@ boolean inEventLoop() {
    * @return mono result
    */
   <R extends AeronResource> Mono<R> register(R resource) {
-    return worker()
-        .flatMap(
-            worker ->
-                command(
-                    sink -> {
-                      if (!cancelIfDisposed(sink)) {
-                        resources.add(resource);
-                        resetOutboundAndInbound();
-                        logger.debug("Registered {}", resource);
-                        sink.success(resource);
-                      }
-                    }));
+    return worker().flatMap(worker -> command(sink -> doRegister(resource, sink)));
+  }
+
+  /**
+   * Registers aeron resources in event loop with single command.
+   *
+   * @param resources aeron resources
+   * @return mono result
+   */
+  <R extends AeronResource> Mono<List<R>> registerAll(List<R> resources) {
+    return worker().flatMap(worker -> command(sink -> doRegisterAll(resources, sink)));
+  }
+
+  private <R extends AeronResource> void doRegister(R resource, MonoSink<R> sink) {
+    if (!cancelIfDisposed(sink)) {
+      addResource(resource);
+      sink.success(resource);
+    }
+  }
+
+  private <R extends AeronResource> void doRegisterAll(List<R> resources, MonoSink<List<R>> sink) {
+    if (!cancelIfDisposed(sink)) {
+      //noinspection ForLoopReplaceableByForEach
+      for (int i = 0; i < resources.size(); i++) {
+        addResource(resources.get(i));
+      }
+      sink.success(resources);
+    }
+  }
+
+  private void addResource(AeronResource resource) {
+    if (!resources.add(resource)) {
+      return;
+    }
+    if (resource instanceof MessagePublication) {
+      publications.add((MessagePublication) resource);
+      connectionCount++;
+    } else if (resource instanceof DefaultAeronInbound) {
+      inbounds.add((DefaultAeronInbound) resource);
+    }
+    logger.debug("Registered {}", resource);
   }
 
   /**
@@ -123,17 +260,252 @@ <R extends AeronResource> Mono<R> register(R resource) {
    * @return mono result
    */
   Mono<Void> dispose(AeronResource resource) {
-    return worker()
-        .flatMap(
-            worker ->
-                command(
-                    sink -> {
-                      resources.remove(resource);
-                      resetOutboundAndInbound();
-                      logger.debug("Closing {}", resource);
-                      Mono.fromRunnable(resource::close)
-                          .subscribe(null, sink::error, sink::success);
-                    }));
+    return worker().flatMap(worker -> command(sink -> doDispose(resource, sink), true));
+  }
+
+  /**
+   * Disposes resources and removes them from event loop with single command. All resources get
+   * closed even if some of them fail to, first failure is propagated.
+   *
+   * @param resources aeron resources
+   * @return mono result
+   */
+  Mono<Void> disposeAll(List<? extends AeronResource> resources) {
+    return worker().flatMap(worker -> command(sink -> doDisposeAll(resources, sink), true));
+  }
+
+  private void doDispose(AeronResource resource, MonoSink<Void> sink) {
+    if (forwardIfMigrated(resource, sink)) {
+      return;
+    }
+    try {
+      removeResource(resource);
+    } catch (Exception ex) {
+      sink.error(ex);
+      return;
+    }
+    sink.success();
+  }
+
+  private void doDisposeAll(List<? extends AeronResource> resources, MonoSink<Void> sink) {
+    Exception error = null;
+    //noinspection ForLoopReplaceableByForEach
+    for (int i = 0; i < resources.size(); i++) {
+      AeronResource resource = resources.get(i);
+      if (forwardIfMigrated(resource, null)) {
+        continue;
+      }
+      try {
+        removeResource(resource);
+      } catch (Exception ex) {
+        if (error == null) {
+          error = ex;
+        } else {
+          error.addSuppressed(ex);
+        }
+      }
+    }
+    if (error != null) {
+      sink.error(error);
+    } else {
+      sink.success();
+    }
+  }
+
+  /**
+   * Passes dispose of resource which has been migrated away to its new event loop. If {@code sink}
+   * is {@code null} result is only logged.
+   */
+  private boolean forwardIfMigrated(AeronResource resource, MonoSink<Void> sink) {
+    if (!(resource instanceof MigratableResource)) {
+      return false;
+    }
+    AeronEventLoop owner = ((MigratableResource) resource).eventLoop();
+    if (owner == this) {
+      return false;
+    }
+    owner
+        .dispose(resource)
+        .subscribe(
+            null,
+            th -> {
+              if (sink != null) {
+                sink.error(th);
+              } else {
+                logger.warn("Failed to dispose migrated {}: {}", resource, th.toString());
+              }
+            },
+            () -> {
+              if (sink != null) {
+                sink.success();
+              }
+            });
+    return true;
+  }
+
+  private void removeResource(AeronResource resource) {
+    detachResource(resource);
+    logger.debug("Closing {}", resource);
+    resource.close();
+  }
+
+  private boolean detachResource(AeronResource resource) {
+    boolean removed = resources.remove(resource);
+    if (resource instanceof MessagePublication) {
+      MessagePublication publication = (MessagePublication) resource;
+      if (!publications.remove(publication)) {
+        parkedPublications.remove(publication);
+      }
+      if (removed) {
+        connectionCount--;
+      }
+    } else if (resource instanceof DefaultAeronInbound) {
+      inbounds.remove((DefaultAeronInbound) resource);
+    }
+    return removed;
+  }
+
+  /**
+   * Hands resources over to another event loop. Resources are removed from this event loop at a
+   * safe point between duty cycles and get registered in target one with a command, so no message
+   * gets dropped: until then incoming messages wait in aeron term buffers, and outgoing ones wait
+   * in queues of publishers. Typically both {@link MessagePublication} and {@link
+   * DefaultAeronInbound} of a connection are migrated together; {@link MessageSubscription} owned
+   * by inbound (see {@link DefaultAeronInbound#subscription()}) follows it. Resources which are
+   * not registered in this event loop are ignored. Note that once migrated, resources must be
+   * accessed from thread of target event loop (e.g. {@link AeronOutbound#tryOffer}).
+   *
+   * @param resources resources of this event loop
+   * @param target event loop to migrate resources to
+   * @return mono result
+   */
+  Mono<Void> migrate(List<? extends MigratableResource> resources, AeronEventLoop target) {
+    return worker().flatMap(worker -> command(sink -> doMigrate(resources, target, sink)));
+  }
+
+  /**
+   * Migrates the connection which has done most work since previous call of this method (inbound,
+   * publication and client-side subscription of the connection are taken) to another event loop.
+   * Does nothing if this event loop serves less than two connections.
+   *
+   * @param target event loop to migrate connection to
+   * @return mono result
+   */
+  Mono<Void> migrateHottest(AeronEventLoop target) {
+    return worker().flatMap(worker -> command(sink -> doMigrateHottest(target, sink)));
+  }
+
+  private Mono<Void> attach(List<MigratableResource> resources) {
+    return worker().flatMap(worker -> command(sink -> doAttach(resources, sink), true));
+  }
+
+  private void doMigrate(
+      List<? extends MigratableResource> resources, AeronEventLoop target, MonoSink<Void> sink) {
+    if (cancelIfDisposed(sink)) {
+      return;
+    }
+    if (target == this) {
+      sink.success();
+      return;
+    }
+    List<MigratableResource> moved = new ArrayList<>(resources.size());
+    //noinspection ForLoopReplaceableByForEach
+    for (int i = 0; i < resources.size(); i++) {
+      MigratableResource resource = resources.get(i);
+      if (resource.eventLoop() == this && detachResource(resource)) {
+        resource.onDetach(target);
+        moved.add(resource);
+      }
+      if (resource instanceof DefaultAeronInbound) {
+        MessageSubscription subscription = ((DefaultAeronInbound) resource).subscription();
+        if (subscription != null
+            && subscription.eventLoop() == this
+            && detachResource(subscription)) {
+          subscription.onDetach(target);
+          moved.add(subscription);
+        }
+      }
+    }
+    if (moved.isEmpty()) {
+      sink.success();
+      return;
+    }
+    target
+        .attach(moved)
+        .subscribe(
+            null,
+            th -> {
+              logger.warn("Failed to migrate {} to {}, cause: {}", moved, target, th.toString());
+              // take resources back
+              moved.forEach(resource -> resource.onDetach(this));
+              attach(moved)
+                  .subscribe(
+                      null,
+                      ex -> logger.warn("Failed to take back {}, cause: {}", moved, ex.toString()));
+              sink.error(th);
+            },
+            () -> {
+              logger.debug("Migrated {} to {}", moved, target);
+              sink.success();
+            });
+  }
+
+  private void doAttach(List<MigratableResource> resources, MonoSink<Void> sink) {
+    if (cancelIfDisposed(sink)) {
+      return;
+    }
+    //noinspection ForLoopReplaceableByForEach
+    for (int i = 0; i < resources.size(); i++) {
+      MigratableResource resource = resources.get(i);
+      // resource may have got disposed on its way here
+      if (!resource.isDisposed()) {
+        resource.onAttach();
+        addResource(resource);
+      }
+    }
+    sink.success();
+  }
+
+  private void doMigrateHottest(AeronEventLoop target, MonoSink<Void> sink) {
+    if (cancelIfDisposed(sink)) {
+      return;
+    }
+    DefaultAeronInbound hottest = null;
+    long maxWorkCount = -1;
+    for (int i = 0; i < inbounds.size(); i++) {
+      DefaultAeronInbound inbound = inbounds.get(i);
+      MessagePublication publication = inbound.pairedPublication();
+      long workCount = inbound.workCount + (publication != null ? publication.workCount : 0);
+      if (workCount > maxWorkCount) {
+        maxWorkCount = workCount;
+        hottest = inbound;
+      }
+    }
+    boolean single = inbounds.size() < 2;
+    resetWorkCounts();
+    if (single) {
+      sink.success();
+      return;
+    }
+    List<MigratableResource> connection = new ArrayList<>(2);
+    connection.add(hottest);
+    MessagePublication publication = hottest.pairedPublication();
+    if (publication != null && resources.contains(publication)) {
+      connection.add(publication);
+    }
+    doMigrate(connection, target, sink);
+  }
+
+  private void resetWorkCounts() {
+    for (int i = 0; i < inbounds.size(); i++) {
+      inbounds.get(i).workCount = 0;
+    }
+    for (int i = 0; i < publications.size(); i++) {
+      publications.get(i).workCount = 0;
+    }
+    for (int i = 0; i < parkedPublications.size(); i++) {
+      parkedPublications.get(i).workCount = 0;
+    }
   }
 
   @Override
@@ -162,7 +534,61 @@ private Mono<Worker> worker() {
   }
 
   private <T> Mono<T> command(Consumer<MonoSink<T>> consumer) {
-    return Mono.create(sink -> commands.add(new CommandTask<>(sink, consumer)));
+    return command(consumer, false);
+  }
+
+  /**
+   * Creates command which runs on worker thread. Command task is taken from {@link #commandPool},
+   * though {@code Mono} and its sink are still allocated per command.
+   *
+   * @param consumer command body
+   * @param releasing whether command releases or hands over resources, see {@link
+   *     #submit(CommandTask)}
+   * @return mono result
+   */
+  @SuppressWarnings("unchecked")
+  private <T> Mono<T> command(Consumer<MonoSink<T>> consumer, boolean releasing) {
+    return Mono.create(
+        sink -> {
+          CommandTask task = commandPool.poll();
+          if (task == null) {
+            task = new CommandTask();
+          }
+          task.consumer = (Consumer<MonoSink<?>>) (Consumer<?>) consumer;
+          task.sink = sink;
+          task.releasing = releasing;
+          if (!submit(task)) {
+            task.consumer = null;
+            task.sink = null;
+            commandPool.offer(task);
+            sink.error(AeronExceptions.failWithCommandQueueFull(name));
+          }
+        });
+  }
+
+  /**
+   * Submits command preserving order of commands submitted by the same thread: once any command
+   * went to overflow queue, following ones go there as well until it gets drained.
+   *
+   * <p>Once {@link #commands} ring is full, commands bringing new resources to event loop
+   * (registration, migration) are rejected, so that connection storm gets back pressured instead of
+   * growing unbounded queue. Commands releasing or handing over existing resources (disposal,
+   * attaching migrated resources) can't be rejected without leaking them, they go to {@link
+   * #overflowCommands} instead. Its size is therefore bounded by number of resources already
+   * registered, at a cost of a node allocated per overflown command.
+   *
+   * @return {@code true} if command was submitted, {@code false} if it was rejected
+   */
+  private boolean submit(CommandTask task) {
+    if (overflowCount.get() == 0 && commands.offer(task)) {
+      return true;
+    }
+    if (!task.releasing) {
+      return false;
+    }
+    overflowCount.incrementAndGet();
+    overflowCommands.add(task);
+    return true;
   }
 
   private <T> Mono<T> listenUnavailable() {
@@ -172,26 +598,29 @@ private <T> Mono<T> listenUnavailable() {
   }
 
   /**
-   * Runnable task for submitting to {@link #commands} queue. For usage details see methods: {@link
+   * Command submitted to {@link #commands} queue. Instances are pooled: worker returns task to
+   * {@link #commandPool} before running it. For usage details see methods: {@link
    * #register(AeronResource)} and {@link #dispose(AeronResource)}.
    */
-  private static class CommandTask<T> implements Runnable {
-    private final MonoSink<T> sink;
-    private final Consumer<MonoSink<T>> consumer;
+  private static class CommandTask {
 
-    private CommandTask(MonoSink<T> sink, Consumer<MonoSink<T>> consumer) {
-      this.sink = sink;
-      this.consumer = consumer;
-    }
+    private Consumer<MonoSink<?>> consumer;
+    private MonoSink<?> sink;
+    // whether command releases or hands over resources, see AeronEventLoop#submit(CommandTask)
+    private boolean releasing;
+  }
 
-    @Override
-    public void run() {
-      try {
-        consumer.accept(sink);
-      } catch (Exception e) {
-        logger.error("Exception occurred on CommandTask: ", e);
-        sink.error(e);
-      }
+  private void runCommand(CommandTask task) {
+    Consumer<MonoSink<?>> consumer = task.consumer;
+    MonoSink<?> sink = task.sink;
+    task.consumer = null;
+    task.sink = null;
+    commandPool.offer(task);
+    try {
+      consumer.accept(sink);
+    } catch (Exception e) {
+      logger.error("Exception occurred on CommandTask: ", e);
+      sink.error(e);
     }
   }
 
@@ -201,6 +630,7 @@ public void run() {
    * <ul>
    *   <li>runs until dispose signal obtained
    *   <li>on run iteration makes progress on: a) commands; b) publications; c) subscriptions
+   *   <li>parks back pressured publications until their window opens
    *   <li>idles on zero progress
    *   <li>collects and reports runtime stats
    * </ul>
@@ -208,6 +638,7 @@ public void run() {
   private class Worker implements Runnable {
 
     private final WorkerFlightRecorder flightRecorder;
+    private final DeadlineTimerWheel.TimerHandler timerHandler = this::onTimerExpiry;
 
     public Worker(WorkerFlightRecorder flightRecorder) {
       this.flightRecorder = flightRecorder;
@@ -215,13 +646,19 @@ public Worker(WorkerFlightRecorder flightRecorder) {
 
     @Override
     public void run() {
-      flightRecorder.start();
+      CpuAffinity.apply(cpuAffinity);
+      clock.update(System.nanoTime());
+      flightRecorder.start(clock.nanoTime());
 
       while (!dispose.isDisposed()) {
+        clock.update(System.nanoTime());
         flightRecorder.countTick();
 
         // Commands
-        processCommands();
+        int c = processCommands(COMMAND_DRAIN_LIMIT);
+
+        // Timers
+        int t = processTimers();
 
         // Outbound
         int o = processOutbound();
@@ -231,7 +668,7 @@ public void run() {
         int i = processInbound();
         flightRecorder.countInbound(i);
 
-        int workCount = o + i;
+        int workCount = c + o + i + t;
         if (workCount < 1) {
           flightRecorder.countIdle();
         } else {
@@ -239,56 +676,125 @@ public void run() {
         }
 
         // Reporting
-        flightRecorder.tryReport();
+        flightRecorder.tryReport(clock.nanoTime());
 
         idleStrategy.idle(workCount);
       }
 
       // Dispose everything
       try {
-        processCommands();
+        while (processCommands(COMMAND_DRAIN_LIMIT) > 0) {
+          // drain all pending commands
+        }
         disposeResources();
       } finally {
         onDispose.onComplete();
       }
     }
 
+    private int processTimers() {
+      if (timerWheel.timerCount() == 0) {
+        // wheel advances by one tick per poll only, keep idle wheel at current time, otherwise
+        // next timer would expire late by up to time the wheel was idle
+        timerWheel.resetStartTime(clock.nanoTime());
+        return 0;
+      }
+      return timerWheel.poll(clock.nanoTime(), timerHandler, TIMER_EXPIRY_LIMIT);
+    }
+
+    private boolean onTimerExpiry(TimeUnit timeUnit, long now, long timerId) {
+      Runnable task = timerTasks.remove(timerId);
+      if (task != null) {
+        try {
+          task.run();
+        } catch (Exception ex) {
+          logger.error("Unexpected exception occurred on timer task: ", ex);
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Polls inbounds until fragment budget of duty cycle is exhausted. If it is, next duty cycle
+     * starts from the inbound following the last polled one, so that all inbounds get their turn.
+     */
     private int processInbound() {
       int result = 0;
-      //noinspection ForLoopReplaceableByForEach
-      for (int i = 0, n = inbounds.size(); i < n; i++) {
+      int n = inbounds.size();
+      if (inboundIndex >= n) {
+        inboundIndex = 0;
+      }
+      for (int i = 0; i < n; i++) {
+        int index = (inboundIndex + i) % n;
+        DefaultAeronInbound inbound = inbounds.get(index);
         try {
-          result += inbounds.get(i).poll();
+          int r = inbound.poll(pollFragmentBudget - result);
+          inbound.workCount += r;
+          result += r;
         } catch (Exception ex) {
           logger.error("Unexpected exception occurred on inbound.poll(): ", ex);
         }
+        if (result >= pollFragmentBudget) {
+          inboundIndex = index + 1;
+          break;
+        }
       }
       return result;
     }
 
     private int processOutbound() {
       int result = 0;
-      //noinspection ForLoopReplaceableByForEach
-      for (int i = 0, n = publications.size(); i < n; i++) {
+      for (int i = 0; i < parkedPublications.size(); ) {
+        MessagePublication publication = parkedPublications.get(i);
+        if (publication.isUnparkable()) {
+          parkedPublications.removeAt(i);
+          publications.add(publication);
+        } else {
+          i++;
+        }
+      }
+      for (int i = 0; i < publications.size(); ) {
+        MessagePublication publication = publications.get(i);
         try {
-          result += publications.get(i).publish();
+          int r = publication.publish();
+          publication.workCount += r;
+          result += r;
         } catch (Exception ex) {
           logger.error("Unexpected exception occurred on publication.publish(): ", ex);
         }
+        if (publication.isBackPressured()) {
+          publication.park();
+          publications.removeAt(i);
+          parkedPublications.add(publication);
+        } else {
+          i++;
+        }
       }
       return result;
     }
 
-    private void processCommands() {
-      CommandTask task;
-      while ((task = commands.poll()) != null) {
-        task.run();
+    /**
+     * Runs up to {@code limit} commands, so that bursts of registrations (e.g. reconnect storms)
+     * are spread over several duty cycles instead of delaying established connections.
+     */
+    private int processCommands(int limit) {
+      int result = commands.drain(commandRunner, limit);
+      while (result < limit && overflowCount.get() > 0) {
+        CommandTask task = overflowCommands.poll();
+        if (task == null) {
+          break;
+        }
+        overflowCount.decrementAndGet();
+        runCommand(task);
+        result++;
       }
+      return result;
     }
   }
 
   private void disposeResources() {
-    for (AeronResource resource : resources) {
+    for (int i = 0; i < resources.size(); i++) {
+      AeronResource resource = resources.get(i);
       try {
         resource.close();
       } catch (Exception ex) {
@@ -296,8 +802,16 @@ private void disposeResources() {
       }
     }
     resources.clear();
+    timerTasks.clear();
     publications.clear();
+    parkedPublications.clear();
     inbounds.clear();
+    connectionCount = 0;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("AeronEventLoop%x-%d", groupId, workerId);
   }
 
   private boolean cancelIfDisposed(MonoSink<?> sink) {
@@ -307,16 +821,4 @@ private boolean cancelIfDisposed(MonoSink<?> sink) {
     }
     return isDisposed;
   }
-
-  private void resetOutboundAndInbound() {
-    publications = filterResources(MessagePublication.class);
-    inbounds = filterResources(DefaultAeronInbound.class);
-  }
-
-  private <T> List<T> filterResources(Class<T> clazz) {
-    return resources.stream()
-        .filter(clazz::isInstance)
-        .map(r -> ((T) r))
-        .collect(Collectors.toList());
-  }
 }
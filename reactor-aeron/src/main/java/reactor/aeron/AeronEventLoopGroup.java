@@ -1,17 +1,23 @@
 package reactor.aeron;
 
+import java.time.Duration;
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Supplier;
 import org.agrona.concurrent.IdleStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
 /**
  * Wrapper around the {@link AeronEventLoop} where the actual logic is performed. Manages grouping
- * of multiple instances of {@link AeronEventLoop}: round-robin iteration and grouped disposal.
+ * of multiple instances of {@link AeronEventLoop}: placement of connections, rebalancing of
+ * connections between event loops and grouped disposal.
  */
 class AeronEventLoopGroup implements OnDisposable {
 
@@ -19,7 +25,9 @@ class AeronEventLoopGroup implements OnDisposable {
 
   private final int id = System.identityHashCode(this);
   private final AeronEventLoop[] eventLoops;
-  private final AtomicInteger idx = new AtomicInteger();
+  private final List<AeronEventLoop> workerLoads;
+  private final PlacementStrategy placementStrategy;
+  private final Disposable rebalancer;
 
   private final MonoProcessor<Void> dispose = MonoProcessor.create();
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
@@ -30,13 +38,46 @@ class AeronEventLoopGroup implements OnDisposable {
    * @param name thread name
    * @param numOfWorkers number of {@link AeronEventLoop} instances in the group
    * @param workerIdleStrategySupplier factory for {@link IdleStrategy} instances
+   * @param pollFragmentBudget fragment budget of event loop duty cycle
+   * @param threadFactory factory of worker threads, {@code null} for default one
+   * @param cpuAffinity CPU list per worker index (see {@link CpuAffinity}), may be empty
+   * @param placementStrategy strategy which picks event loop for new connection
+   * @param rebalanceInterval interval of rebalancing connections between event loops, {@code null}
+   *     turns rebalancing off
+   * @param rebalanceBusyThreshold busy rate of event loop considered as saturated, see {@link
+   *     #rebalance(double)}
    */
   AeronEventLoopGroup(
-      String name, int numOfWorkers, Supplier<IdleStrategy> workerIdleStrategySupplier) {
+      String name,
+      int numOfWorkers,
+      Supplier<IdleStrategy> workerIdleStrategySupplier,
+      int pollFragmentBudget,
+      ThreadFactory threadFactory,
+      String[] cpuAffinity,
+      PlacementStrategy placementStrategy,
+      Duration rebalanceInterval,
+      double rebalanceBusyThreshold) {
+    this.placementStrategy = placementStrategy;
     this.eventLoops = new AeronEventLoop[numOfWorkers];
     for (int i = 0; i < numOfWorkers; i++) {
-      eventLoops[i] = new AeronEventLoop(name, i, id, workerIdleStrategySupplier.get());
+      eventLoops[i] =
+          new AeronEventLoop(
+              name,
+              i,
+              id,
+              workerIdleStrategySupplier.get(),
+              pollFragmentBudget,
+              threadFactory,
+              cpuAffinity.length > 0 ? cpuAffinity[i % cpuAffinity.length] : null);
     }
+    this.workerLoads = Collections.unmodifiableList(Arrays.asList(eventLoops));
+    this.rebalancer =
+        rebalanceInterval != null && numOfWorkers > 1
+            ? Flux.interval(rebalanceInterval)
+                .onBackpressureDrop()
+                .concatMap(i -> rebalance(rebalanceBusyThreshold))
+                .subscribe()
+            : null;
 
     dispose
         .then(doDispose())
@@ -48,12 +89,67 @@ class AeronEventLoopGroup implements OnDisposable {
   }
 
   /**
-   * Get instance of worker from the group (round-robin iteration).
+   * Get instance of worker from the group for new connection, as selected by placement strategy.
    *
+   * @param identity identity of remote side of connection, see {@link PlacementStrategy}
    * @return instance of worker in the group
    */
-  AeronEventLoop next() {
-    return eventLoops[Math.abs(idx.getAndIncrement() % eventLoops.length)];
+  AeronEventLoop next(String identity) {
+    int index = placementStrategy.select(workerLoads, identity);
+    if (index < 0 || index >= eventLoops.length) {
+      throw new IllegalStateException(
+          "Placement strategy selected worker " + index + " out of " + eventLoops.length);
+    }
+    return eventLoops[index];
+  }
+
+  /**
+   * Moves the hottest connection (see {@link AeronEventLoop#migrateHottest(AeronEventLoop)}) from
+   * the busiest event loop to the least busy one, if the busiest one is saturated (its busy rate
+   * reached {@code busyThreshold}), serves more than one connection, and the least busy one is not
+   * saturated. Busy rates come from flight recorders of event loops. Failure is logged and
+   * swallowed, so that next round of rebalancing takes place.
+   *
+   * @param busyThreshold busy rate in range {@code [0, 1]}
+   * @return mono result
+   */
+  Mono<Void> rebalance(double busyThreshold) {
+    return Mono.defer(
+            () -> {
+              AeronEventLoop hottest = null;
+              AeronEventLoop coldest = null;
+              double maxBusyRate = -1;
+              double minBusyRate = 2;
+              for (AeronEventLoop eventLoop : eventLoops) {
+                double busyRate = eventLoop.busyRate();
+                if (busyRate > maxBusyRate) {
+                  maxBusyRate = busyRate;
+                  hottest = eventLoop;
+                }
+                if (busyRate < minBusyRate) {
+                  minBusyRate = busyRate;
+                  coldest = eventLoop;
+                }
+              }
+              if (hottest == coldest
+                  || maxBusyRate < busyThreshold
+                  || minBusyRate >= busyThreshold
+                  || hottest.connectionCount() < 2) {
+                return Mono.empty();
+              }
+              logger.debug(
+                  "Rebalancing {} (busy rate: {}) to {} (busy rate: {})",
+                  hottest,
+                  maxBusyRate,
+                  coldest,
+                  minBusyRate);
+              return hottest.migrateHottest(coldest);
+            })
+        .onErrorResume(
+            th -> {
+              logger.warn("{} failed to rebalance connections: {}", this, th.toString());
+              return Mono.empty();
+            });
   }
 
   AeronEventLoop first() {
@@ -79,6 +175,9 @@ private Mono<Void> doDispose() {
     return Mono.defer(
         () -> {
           logger.debug("Disposing {}", this);
+          if (rebalancer != null) {
+            rebalancer.dispose();
+          }
           return Mono.whenDelayError(
               Arrays.stream(eventLoops)
                   .peek(AeronEventLoop::dispose)
@@ -14,15 +14,27 @@ static RuntimeException failWithEventLoopUnavailable() {
     return new AeronEventLoopException("AeronEventLoop is unavailable");
   }
 
+  static RuntimeException failWithCommandQueueFull(String eventLoopName) {
+    return new AeronEventLoopException("AeronEventLoop command queue is full: " + eventLoopName);
+  }
+
   static RuntimeException failWithPublication(String message) {
     return new AeronPublicationException(message);
   }
 
+  static RuntimeException failWithOutsideEventLoop(String operation) {
+    return new AeronEventLoopException("Can only call " + operation + " from within event loop");
+  }
+
   static RuntimeException failWithResourceDisposal(String resourceName) {
     return new AeronResourceDisposalException(
         "Can only close resource (" + resourceName + ") from within event loop");
   }
 
+  static RuntimeException failWithCpuAffinity(String cpuList, String reason) {
+    return new IllegalStateException("Can't pin threads to CPUs " + cpuList + ": " + reason);
+  }
+
   static class AeronCancelException extends RuntimeException {
 
     private static final long serialVersionUID = 1L;
@@ -1,6 +1,123 @@
 package reactor.aeron;
 
+import io.aeron.logbuffer.BlockHandler;
+import io.aeron.logbuffer.FragmentHandler;
+import io.aeron.logbuffer.RawBlockHandler;
+import java.util.function.ToIntFunction;
+import org.agrona.DirectBuffer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.ParallelFlux;
+import reactor.core.scheduler.Scheduler;
+
 public interface AeronInbound {
 
   DirectBufferFlux receive();
+
+  /**
+   * Same as {@link #receive()}, but emits single reused buffer which is re-wrapped over every
+   * incoming message, so that nothing gets allocated per message. Emitted buffer is valid only
+   * until {@code onNext} returns: subscriber must neither retain it nor pass it to another thread,
+   * content should be copied or decoded in place instead. Only one of {@code receive()} and {@code
+   * receiveFlyweight()} can be subscribed.
+   *
+   * @return flux of reused buffers
+   */
+  DirectBufferFlux receiveFlyweight();
+
+  /**
+   * Same as {@link #receive()}, but every message is passed to given gate before it gets emitted.
+   * Gate decides in place whether message is emitted or left in aeron term buffer (see {@link
+   * ReceiveGate}), which lets subscriber stop intake without buffering messages downstream.
+   *
+   * @param gate receive gate
+   * @return flux of buffers let through by gate
+   */
+  DirectBufferFlux receive(ReceiveGate gate);
+
+  /**
+   * Receives messages in batches: all messages taken by single poll of aeron image are emitted as
+   * one {@link DirectBufferBatch} signal, which takes one unit of demand. Emitted batch is reused
+   * and is valid only until {@code onNext} returns. Only one of {@code receive*()} methods can be
+   * subscribed.
+   *
+   * @return flux of reused batches
+   */
+  Flux<DirectBufferBatch> receiveBatch();
+
+  /**
+   * Same as {@link #receive()}, but can be subscribed several times: every message is passed to
+   * all subscribers (as the same buffer, it must not be modified) within the same poll of aeron
+   * image, without intermediate queues. Image is polled only as far as demand of the slowest
+   * subscriber allows; it isn't polled until the first subscriber comes. Once all subscribers have
+   * cancelled, image keeps being polled and messages are dropped, so that sender isn't stalled;
+   * subscriber coming later gets messages received after it subscribed. Can't be combined with other {@code receive*()}
+   * methods.
+   *
+   * @return flux of buffers shared between subscribers
+   */
+  DirectBufferFlux receiveMulticast();
+
+  /**
+   * Dispatches messages to {@code parallelism} rails partitioned by key of message: event loop
+   * copies every message into off-heap ring buffer of rail {@code floorMod(key, parallelism)}, and
+   * every rail emits its messages on its own worker of given scheduler. Messages with the same key
+   * are emitted in order of receiving. Once ring buffer of a rail is full, image is not polled
+   * further until the rail catches up. Emitted buffer is a view of ring buffer, valid only until
+   * {@code onNext} returns (as for {@link #receiveFlyweight()}). Messages longer than {@link
+   * AeronResources#parallelReceiveMaxMessageLength(int)} are emitted as heap copies instead, in
+   * order with other messages of the rail. Messages keyed to a cancelled rail are dropped. Can't be
+   * combined with other {@code receive*()} methods.
+   *
+   * @param parallelism number of rails
+   * @param keyExtractor function computing key of message, called on event loop thread with buffer
+   *     wrapped over message
+   * @param scheduler scheduler providing worker for every rail
+   * @return parallel flux of buffers
+   */
+  ParallelFlux<DirectBuffer> receiveParallel(
+      int parallelism, ToIntFunction<? super DirectBuffer> keyExtractor, Scheduler scheduler);
+
+  /**
+   * Registers handler which is invoked directly on event loop thread for every incoming message,
+   * bypassing Reactor: there is neither demand nor buffer wrapping, messages are polled as fast as
+   * handler consumes them. Handler gets whole messages (fragmented ones are reassembled, coalesced
+   * ones are split), buffer is valid only until handler returns. Handler must not block. Can't be
+   * combined with {@code receive*()} methods.
+   *
+   * @param handler message handler
+   * @return disposable which unregisters handler (polling of inbound stops)
+   */
+  Disposable receiveDirect(FragmentHandler handler);
+
+  /**
+   * Registers handler which is invoked on event loop thread with whole contiguous blocks of aeron
+   * term buffer (see {@link io.aeron.Image#blockPoll(BlockHandler, int)}), for bulk transfers which
+   * don't need message boundaries. There is neither per message handling nor reassembly: block
+   * consists of aeron frames as they are laid out in term buffer, data frame headers (and padding
+   * frames) included, hence its content should be walked with {@link
+   * io.aeron.protocol.DataHeaderFlyweight}. Block never spans term boundary. Buffer is valid only
+   * until handler returns. Can't be combined with other {@code receive*()} methods.
+   *
+   * <p>Frames coalesced by sender (see {@link AeronOptions#outboundBatching(boolean)}) are handed
+   * out undecoded: such frame has reserved value {@code 0x72656163746f7221L} and its payload is
+   * sequence of messages, each prepended with 2-byte little-endian length field.
+   *
+   * @param handler block handler
+   * @param blockLengthLimit max length of block in bytes
+   * @return disposable which unregisters handler (polling of inbound stops)
+   */
+  Disposable receiveBlocks(BlockHandler handler, int blockLengthLimit);
+
+  /**
+   * Same as {@link #receiveBlocks(BlockHandler, int)}, but also passes {@code FileChannel} of log
+   * buffer and offset of the block in it (see {@link io.aeron.Image#rawPoll(RawBlockHandler,
+   * int)}), so that block can be transferred to another channel without copying it into user
+   * space, e.g. with {@code FileChannel.transferTo}.
+   *
+   * @param handler raw block handler
+   * @param blockLengthLimit max length of block in bytes
+   * @return disposable which unregisters handler (polling of inbound stops)
+   */
+  Disposable receiveRawBlocks(RawBlockHandler handler, int blockLengthLimit);
 }
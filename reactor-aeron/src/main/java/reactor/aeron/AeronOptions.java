@@ -21,6 +21,10 @@ public final class AeronOptions {
   private int connectRetryCount = 3;
   private Duration backpressureTimeout = Duration.ofSeconds(5);
   private Duration adminActionTimeout = Duration.ofSeconds(5);
+  private int outboundPrefetch = 32;
+  private int outboundQuota = 32;
+  private boolean outboundBatching = false;
+  private int outboundBatchingThreshold = 256;
   private Supplier<Integer> sessionIdGenerator = new SecureRandomSessionIdGenerator();
 
   public AeronOptions() {}
@@ -35,6 +39,10 @@ public AeronOptions() {}
     this.adminActionTimeout = other.adminActionTimeout;
     this.sessionIdGenerator = other.sessionIdGenerator;
     this.connectRetryCount = other.connectRetryCount;
+    this.outboundPrefetch = other.outboundPrefetch;
+    this.outboundQuota = other.outboundQuota;
+    this.outboundBatching = other.outboundBatching;
+    this.outboundBatchingThreshold = other.outboundBatchingThreshold;
   }
 
   public AeronResources resources() {
@@ -102,6 +110,58 @@ public AeronOptions adminActionTimeout(Duration adminActionTimeout) {
     return set(s -> s.adminActionTimeout = adminActionTimeout);
   }
 
+  public int outboundPrefetch() {
+    return outboundPrefetch;
+  }
+
+  public AeronOptions outboundPrefetch(int outboundPrefetch) {
+    if (outboundPrefetch <= 0) {
+      throw new IllegalArgumentException("outboundPrefetch must be positive: " + outboundPrefetch);
+    }
+    return set(s -> s.outboundPrefetch = outboundPrefetch);
+  }
+
+  public int outboundQuota() {
+    return outboundQuota;
+  }
+
+  public AeronOptions outboundQuota(int outboundQuota) {
+    if (outboundQuota <= 0) {
+      throw new IllegalArgumentException("outboundQuota must be positive: " + outboundQuota);
+    }
+    return set(s -> s.outboundQuota = outboundQuota);
+  }
+
+  public boolean outboundBatching() {
+    return outboundBatching;
+  }
+
+  public AeronOptions outboundBatching(boolean outboundBatching) {
+    return set(s -> s.outboundBatching = outboundBatching);
+  }
+
+  public int outboundBatchingThreshold() {
+    return outboundBatchingThreshold;
+  }
+
+  /**
+   * Sets max length (in bytes) of message which gets coalesced with others into single aeron frame
+   * when {@link #outboundBatching(boolean)} is on, longer messages are published in frames of their
+   * own. Default is 256 bytes, a small fraction of default aeron MTU, so that batching doesn't
+   * delay messages which fill frame on their own. Anyway it's capped by max payload length of
+   * aeron publication.
+   *
+   * @param outboundBatchingThreshold max length of coalesced message
+   * @return new {@code AeronOptions} object
+   */
+  public AeronOptions outboundBatchingThreshold(int outboundBatchingThreshold) {
+    if (outboundBatchingThreshold <= 0) {
+      throw new IllegalArgumentException(
+          "outboundBatchingThreshold must be positive: " + outboundBatchingThreshold);
+    }
+    return set(s -> s.outboundBatchingThreshold = outboundBatchingThreshold);
+  }
+
   public Supplier<Integer> sessionIdGenerator() {
     return sessionIdGenerator;
   }
@@ -1,5 +1,9 @@
 package reactor.aeron;
 
+import io.aeron.DirectBufferVector;
+import io.aeron.Publication;
+import io.aeron.logbuffer.BufferClaim;
+import io.aeron.logbuffer.FragmentHandler;
 import java.nio.ByteBuffer;
 import org.agrona.DirectBuffer;
 import org.reactivestreams.Publisher;
@@ -20,6 +24,21 @@ public interface AeronOutbound extends Publisher<Void> {
    */
   <B> AeronOutbound send(Publisher<B> dataStream, DirectBufferHandler<? super B> bufferHandler);
 
+  /**
+   * Send data to the peer with given priority, listen for any error on write and close on terminal
+   * signal (complete|error). Streams with higher priority are served first when several streams
+   * share the connection.
+   *
+   * @param <B> abstract buffer type (comes from client code)
+   * @param dataStream the dataStream publishing items to send
+   * @param bufferHandler abstract buffer handler for {@link DirectBuffer} buffer
+   * @param priority priority of the dataStream
+   * @return A new {@link AeronOutbound} to append further send. It will emit a complete signal upon
+   *     successful sequence write or an error during write.
+   */
+  <B> AeronOutbound send(
+      Publisher<B> dataStream, DirectBufferHandler<? super B> bufferHandler, Priority priority);
+
   /**
    * Send data to the peer, listen for any error on write and close on terminal signal
    * (complete|error).
@@ -42,7 +61,7 @@ public interface AeronOutbound extends Publisher<Void> {
 
   /**
    * Send data to the peer, listen for any error on write and close on terminal signal
-   * (complete|error).
+   * (complete|error). Strings are encoded in UTF-8 straight into aeron term buffer.
    *
    * @param dataStream the dataStream publishing items to send
    * @return A new {@link AeronOutbound} to append further send. It will emit a complete signal upon
@@ -50,6 +69,16 @@ public interface AeronOutbound extends Publisher<Void> {
    */
   AeronOutbound sendString(Publisher<String> dataStream);
 
+  /**
+   * Same as {@link #sendString(Publisher)}, but for any character sequences, e.g. reused {@code
+   * StringBuilder}. Sequence must not be modified until it is published (or until send fails).
+   *
+   * @param dataStream the dataStream publishing items to send
+   * @return A new {@link AeronOutbound} to append further send. It will emit a complete signal upon
+   *     successful sequence write or an error during write.
+   */
+  AeronOutbound sendChars(Publisher<? extends CharSequence> dataStream);
+
   /**
    * Send data to the peer, listen for any error on write and close on terminal signal
    * (complete|error).
@@ -60,6 +89,43 @@ public interface AeronOutbound extends Publisher<Void> {
    */
   AeronOutbound sendBuffer(Publisher<ByteBuffer> dataStream);
 
+  /**
+   * Send data to the peer, listen for any error on write and close on terminal signal
+   * (complete|error). Every item is a message consisting of several segments, which get gathered
+   * into single aeron message without intermediate copy.
+   *
+   * @param dataStream the dataStream publishing items to send
+   * @return A new {@link AeronOutbound} to append further send. It will emit a complete signal upon
+   *     successful sequence write or an error during write.
+   */
+  AeronOutbound sendVectors(Publisher<DirectBufferVector[]> dataStream);
+
+  /**
+   * Offers message to the peer right away, bypassing {@code send*()} machinery. Can only be called
+   * from within event loop thread of the connection (for example from handler registered by {@link
+   * AeronInbound#receiveDirect(FragmentHandler)}), otherwise exception is thrown. Message is not
+   * ordered with messages of pending {@code send*()} streams.
+   *
+   * @param buffer buffer
+   * @param offset offset of message in buffer
+   * @param length length of message
+   * @return new stream position if positive, otherwise aeron result code, see {@link
+   *     Publication#offer(DirectBuffer, int, int)}
+   */
+  long tryOffer(DirectBuffer buffer, int offset, int length);
+
+  /**
+   * Claims region of aeron term buffer for writing message to the peer right away, see {@link
+   * #tryOffer(DirectBuffer, int, int)} for restrictions. On success claim must be committed (or
+   * aborted) by caller before returning control to event loop.
+   *
+   * @param length length of message
+   * @param bufferClaim buffer claim to be initialized
+   * @return new stream position if positive, otherwise aeron result code, see {@link
+   *     Publication#tryClaim(int, BufferClaim)}
+   */
+  long tryClaim(int length, BufferClaim bufferClaim);
+
   /**
    * Obtain a {@link Mono} of pending outbound(s) write completion.
    *
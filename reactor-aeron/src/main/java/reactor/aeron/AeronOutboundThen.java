@@ -1,5 +1,7 @@
 package reactor.aeron;
 
+import io.aeron.DirectBufferVector;
+import io.aeron.logbuffer.BufferClaim;
 import java.nio.ByteBuffer;
 import org.agrona.DirectBuffer;
 import org.reactivestreams.Publisher;
@@ -26,6 +28,12 @@ public <B> AeronOutbound send(
     return source.send(dataStream, bufferHandler);
   }
 
+  @Override
+  public <B> AeronOutbound send(
+      Publisher<B> dataStream, DirectBufferHandler<? super B> bufferHandler, Priority priority) {
+    return source.send(dataStream, bufferHandler, priority);
+  }
+
   @Override
   public AeronOutbound send(Publisher<DirectBuffer> dataStream) {
     return source.send(dataStream);
@@ -41,11 +49,31 @@ public AeronOutbound sendString(Publisher<String> dataStream) {
     return source.sendString(dataStream);
   }
 
+  @Override
+  public AeronOutbound sendChars(Publisher<? extends CharSequence> dataStream) {
+    return source.sendChars(dataStream);
+  }
+
   @Override
   public AeronOutbound sendBuffer(Publisher<ByteBuffer> dataStream) {
     return source.sendBuffer(dataStream);
   }
 
+  @Override
+  public AeronOutbound sendVectors(Publisher<DirectBufferVector[]> dataStream) {
+    return source.sendVectors(dataStream);
+  }
+
+  @Override
+  public long tryOffer(DirectBuffer buffer, int offset, int length) {
+    return source.tryOffer(buffer, offset, length);
+  }
+
+  @Override
+  public long tryClaim(int length, BufferClaim bufferClaim) {
+    return source.tryClaim(length, bufferClaim);
+  }
+
   @Override
   public Mono<Void> then() {
     return thenMono;
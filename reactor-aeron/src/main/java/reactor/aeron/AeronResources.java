@@ -7,13 +7,22 @@
 import io.aeron.Subscription;
 import io.aeron.driver.MediaDriver;
 import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ThreadFactory;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
 import org.agrona.CloseHelper;
 import org.agrona.IoUtil;
 import org.agrona.concurrent.BackoffIdleStrategy;
@@ -35,6 +44,12 @@ public final class AeronResources implements OnDisposable {
   // Settings
 
   private int pollFragmentLimit = 32;
+  private int maxPollFragmentLimit = 256;
+  private int pollFragmentBudget = 1024;
+  private int reassemblyMaxMessageLength = 16 * 1024 * 1024;
+  private long reassemblyMemoryBudget = 64 * 1024 * 1024;
+  private int parallelReceiveBufferLength = 1024 * 1024;
+  private int parallelReceiveMaxMessageLength = 64 * 1024;
   private int numOfWorkers = Runtime.getRuntime().availableProcessors();
 
   private Aeron.Context aeronContext =
@@ -52,11 +67,19 @@ public final class AeronResources implements OnDisposable {
           .publicationReservedSessionIdHigh(Integer.MAX_VALUE);
 
   private Supplier<IdleStrategy> workerIdleStrategySupplier = defaultBackoffIdleStrategySupplier;
+  private ThreadFactory workerThreadFactory;
+  private String[] workerCpuAffinity = new String[0];
+  private String[] mediaCpuAffinity = new String[0];
+  private PlacementStrategy placementStrategy;
+  private Duration rebalanceInterval;
+  private double rebalanceBusyThreshold;
 
   // State
   private Aeron aeron;
   private MediaDriver mediaDriver;
   private AeronEventLoopGroup eventLoopGroup;
+  private ReassemblyBufferPool reassemblyBufferPool;
+  private ObjectName reassemblyBufferPoolName;
 
   private Scheduler scheduler = Schedulers.newSingle("AeronResources", true);
 
@@ -100,8 +123,20 @@ public AeronResources() {
   private AeronResources(AeronResources that, Aeron.Context ac, MediaDriver.Context mdc) {
     this();
     this.pollFragmentLimit = that.pollFragmentLimit;
+    this.maxPollFragmentLimit = that.maxPollFragmentLimit;
+    this.pollFragmentBudget = that.pollFragmentBudget;
+    this.reassemblyMaxMessageLength = that.reassemblyMaxMessageLength;
+    this.reassemblyMemoryBudget = that.reassemblyMemoryBudget;
+    this.parallelReceiveBufferLength = that.parallelReceiveBufferLength;
+    this.parallelReceiveMaxMessageLength = that.parallelReceiveMaxMessageLength;
     this.numOfWorkers = that.numOfWorkers;
     this.workerIdleStrategySupplier = that.workerIdleStrategySupplier;
+    this.workerThreadFactory = that.workerThreadFactory;
+    this.workerCpuAffinity = that.workerCpuAffinity;
+    this.mediaCpuAffinity = that.mediaCpuAffinity;
+    this.placementStrategy = that.placementStrategy;
+    this.rebalanceInterval = that.rebalanceInterval;
+    this.rebalanceBusyThreshold = that.rebalanceBusyThreshold;
     copy(ac);
     copy(mdc);
   }
@@ -252,7 +287,9 @@ public AeronResources numOfWorkers(int n) {
   }
 
   /**
-   * Settings fragment limit for polling.
+   * Settings fragment limit for polling. This is initial limit of every inbound, which then adapts
+   * to load of the inbound: it grows (up to {@link #maxPollFragmentLimit(int)}) while inbound keeps
+   * filling it, and shrinks while inbound is sparse.
    *
    * @param pollFragmentLimit fragment limit for polling
    * @return new {@code AeronResources} object
@@ -263,6 +300,90 @@ public AeronResources pollFragmentLimit(int pollFragmentLimit) {
     return c;
   }
 
+  /**
+   * Settings upper bound of adaptive fragment limit for polling, see {@link
+   * #pollFragmentLimit(int)}.
+   *
+   * @param maxPollFragmentLimit max fragment limit for polling
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources maxPollFragmentLimit(int maxPollFragmentLimit) {
+    AeronResources c = copy();
+    c.maxPollFragmentLimit = maxPollFragmentLimit;
+    return c;
+  }
+
+  /**
+   * Settings total number of fragments polled by event loop from all its inbounds per duty cycle,
+   * so that single busy inbound can't delay others (and outbound) for long.
+   *
+   * @param pollFragmentBudget fragment budget of event loop duty cycle
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources pollFragmentBudget(int pollFragmentBudget) {
+    AeronResources c = copy();
+    c.pollFragmentBudget = pollFragmentBudget;
+    return c;
+  }
+
+  /**
+   * Settings max length of fragmented message which can be reassembled by inbounds, longer messages
+   * are dropped.
+   *
+   * @param reassemblyMaxMessageLength max length of reassembled message
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources reassemblyMaxMessageLength(int reassemblyMaxMessageLength) {
+    AeronResources c = copy();
+    c.reassemblyMaxMessageLength = reassemblyMaxMessageLength;
+    return c;
+  }
+
+  /**
+   * Settings max overall memory of buffers for reassembling fragmented messages, shared by all
+   * inbounds. Once it is exhausted, reassembly of new messages is delayed (fragments stay in aeron
+   * term buffers) until some buffer is released, and messages which can't grow their buffer are
+   * dropped. Must not be less than {@link #reassemblyMaxMessageLength(int)}.
+   *
+   * @param reassemblyMemoryBudget memory budget of reassembly buffers in bytes
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources reassemblyMemoryBudget(long reassemblyMemoryBudget) {
+    AeronResources c = copy();
+    c.reassemblyMemoryBudget = reassemblyMemoryBudget;
+    return c;
+  }
+
+  /**
+   * Settings length of off-heap ring buffer of every rail of {@link
+   * AeronInbound#receiveParallel(int, java.util.function.ToIntFunction,
+   * reactor.core.scheduler.Scheduler)}, rounded up to power of two. Max length of message which
+   * can be copied into it is 1/8 of it (see {@link #parallelReceiveMaxMessageLength(int)}).
+   *
+   * @param parallelReceiveBufferLength length of ring buffer of parallel receive rail
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources parallelReceiveBufferLength(int parallelReceiveBufferLength) {
+    AeronResources c = copy();
+    c.parallelReceiveBufferLength = parallelReceiveBufferLength;
+    return c;
+  }
+
+  /**
+   * Settings max length of message which is copied into off-heap ring buffer of parallel receive
+   * rail (see {@link #parallelReceiveBufferLength(int)}), it's capped by 1/8 of ring buffer
+   * length. Longer messages are handed off to rail as heap copies allocated per message, in the
+   * same order with other messages of the rail. Default is 64 KiB.
+   *
+   * @param parallelReceiveMaxMessageLength max length of message copied into ring buffer
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources parallelReceiveMaxMessageLength(int parallelReceiveMaxMessageLength) {
+    AeronResources c = copy();
+    c.parallelReceiveMaxMessageLength = parallelReceiveMaxMessageLength;
+    return c;
+  }
+
   /**
    * Setter for supplier of {@code IdleStrategy} for worker thread(s).
    *
@@ -275,6 +396,108 @@ public AeronResources workerIdleStrategySupplier(Supplier<IdleStrategy> s) {
     return c;
   }
 
+  /**
+   * Setter for factory of worker threads. Created threads get renamed after event loop (names are
+   * used by worker MBeans) and get uncaught exception handler which logs errors.
+   *
+   * @param workerThreadFactory factory of worker threads
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources workerThreadFactory(ThreadFactory workerThreadFactory) {
+    AeronResources c = copy();
+    c.workerThreadFactory = workerThreadFactory;
+    return c;
+  }
+
+  /**
+   * Settings CPU affinity of worker threads (Linux only, see {@link CpuAffinity}): worker with
+   * index {@code i} pins itself to CPUs {@code cpuLists[i % cpuLists.length]} once it starts.
+   * {@link #start()} fails if threads can't be pinned to any of given CPU lists.
+   *
+   * @param cpuLists CPU list per worker index, e.g. {@code "2"}, {@code "2,3"} or {@code "4-7"}
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources workerCpuAffinity(String... cpuLists) {
+    AeronResources c = copy();
+    c.workerCpuAffinity = Arrays.copyOf(cpuLists, cpuLists.length);
+    return c;
+  }
+
+  /**
+   * Setter for strategy which picks event loop worker for new connection, {@link
+   * PlacementStrategy#roundRobin()} by default.
+   *
+   * @param placementStrategy placement strategy
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources placementStrategy(PlacementStrategy placementStrategy) {
+    AeronResources c = copy();
+    c.placementStrategy = placementStrategy;
+    return c;
+  }
+
+  /**
+   * Turns on periodic rebalancing of connections between event loop workers, off by default. Every
+   * {@code interval} the hottest connection of the busiest worker is migrated to the least busy
+   * worker, provided that busy rate of the former reached {@code busyThreshold} and busy rate of
+   * the latter didn't. Busy rates are taken from worker flight recorders, see {@link WorkerMBean}.
+   *
+   * @param interval rebalancing interval
+   * @param busyThreshold busy rate in range {@code [0, 1]} of saturated worker
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources rebalance(Duration interval, double busyThreshold) {
+    AeronResources c = copy();
+    c.rebalanceInterval = interval;
+    c.rebalanceBusyThreshold = busyThreshold;
+    return c;
+  }
+
+  /**
+   * Settings CPU affinity of agents of embedded media driver (Linux only, see {@link
+   * CpuAffinity}), so that they don't share CPUs with worker threads. In {@code SHARED_NETWORK}
+   * threading mode sender and receiver run on union of their CPUs, in {@code SHARED} mode all
+   * agents run on union of all CPUs. {@code null} leaves agent unpinned. {@link #start()} fails if
+   * threads can't be pinned to any of given CPU lists.
+   *
+   * @param conductorCpus CPU list of conductor agent
+   * @param senderCpus CPU list of sender agent
+   * @param receiverCpus CPU list of receiver agent
+   * @return new {@code AeronResources} object
+   */
+  public AeronResources mediaCpuAffinity(
+      String conductorCpus, String senderCpus, String receiverCpus) {
+    AeronResources c =
+        media(
+            mdc ->
+                mdc.conductorThreadFactory(pinned(mdc.conductorThreadFactory(), conductorCpus))
+                    .senderThreadFactory(pinned(mdc.senderThreadFactory(), senderCpus))
+                    .receiverThreadFactory(pinned(mdc.receiverThreadFactory(), receiverCpus))
+                    .sharedNetworkThreadFactory(
+                        pinned(mdc.sharedNetworkThreadFactory(), union(senderCpus, receiverCpus)))
+                    .sharedThreadFactory(
+                        pinned(
+                            mdc.sharedThreadFactory(),
+                            union(conductorCpus, senderCpus, receiverCpus))));
+    c.mediaCpuAffinity = new String[] {conductorCpus, senderCpus, receiverCpus};
+    return c;
+  }
+
+  private static ThreadFactory pinned(ThreadFactory threadFactory, String cpuList) {
+    if (cpuList == null || cpuList.isEmpty()) {
+      return threadFactory;
+    }
+    return CpuAffinity.threadFactory(
+        Optional.ofNullable(threadFactory).orElse(Thread::new), cpuList);
+  }
+
+  private static String union(String... cpuLists) {
+    return Stream.of(cpuLists)
+        .filter(Objects::nonNull)
+        .filter(cpuList -> !cpuList.isEmpty())
+        .collect(Collectors.joining(","));
+  }
+
   /**
    * Starting up this resources instance if not started already.
    *
@@ -291,14 +514,29 @@ public Mono<AeronResources> start() {
   private Mono<Void> doStart() {
     return Mono.fromRunnable(
         () -> {
+          verifyCpuAffinity();
+
           mediaDriver = MediaDriver.launchEmbedded(mediaContext);
 
           aeronContext.aeronDirectoryName(mediaDriver.aeronDirectoryName());
 
           aeron = Aeron.connect(aeronContext);
 
+          reassemblyBufferPool =
+              new ReassemblyBufferPool(reassemblyMaxMessageLength, reassemblyMemoryBudget);
+          registerReassemblyBufferPool();
+
           eventLoopGroup =
-              new AeronEventLoopGroup("reactor-aeron", numOfWorkers, workerIdleStrategySupplier);
+              new AeronEventLoopGroup(
+                  "reactor-aeron",
+                  numOfWorkers,
+                  workerIdleStrategySupplier,
+                  pollFragmentBudget,
+                  workerThreadFactory,
+                  workerCpuAffinity,
+                  Optional.ofNullable(placementStrategy).orElseGet(PlacementStrategy::roundRobin),
+                  rebalanceInterval,
+                  rebalanceBusyThreshold);
 
           Runtime.getRuntime()
               .addShutdownHook(
@@ -311,13 +549,22 @@ private Mono<Void> doStart() {
         });
   }
 
+  private void verifyCpuAffinity() {
+    Stream.concat(Stream.of(workerCpuAffinity), Stream.of(mediaCpuAffinity))
+        .filter(Objects::nonNull)
+        .filter(cpuList -> !cpuList.isEmpty())
+        .distinct()
+        .forEach(CpuAffinity::verify);
+  }
+
   /**
-   * Shortcut method for {@code eventLoopGroup.next()}.
+   * Shortcut method for {@code eventLoopGroup.next(identity)}.
    *
+   * @param identity identity of remote side of connection, see {@link PlacementStrategy}
    * @return {@code AeronEventLoop} instance
    */
-  AeronEventLoop nextEventLoop() {
-    return eventLoopGroup.next();
+  AeronEventLoop nextEventLoop(String identity) {
+    return eventLoopGroup.next(identity);
   }
 
   /**
@@ -340,16 +587,26 @@ AeronEventLoop firstEventLoop() {
   Mono<DefaultAeronInbound> inbound(
       Image image, MessageSubscription subscription, AeronEventLoop eventLoop) {
     return Mono.defer(
-        () -> {
-          DefaultAeronInbound inbound =
-              new DefaultAeronInbound(image, eventLoop, subscription, pollFragmentLimit);
-          return eventLoop
-              .register(inbound)
-              .doOnError(
-                  ex ->
-                      logger.error(
-                          "{} failed on registerInbound(), cause: {}", this, ex.toString()));
-        });
+        () ->
+            eventLoop
+                .register(newInbound(image, subscription, eventLoop))
+                .doOnError(
+                    ex ->
+                        logger.error(
+                            "{} failed on registerInbound(), cause: {}", this, ex.toString())));
+  }
+
+  private DefaultAeronInbound newInbound(
+      Image image, MessageSubscription subscription, AeronEventLoop eventLoop) {
+    return new DefaultAeronInbound(
+        image,
+        eventLoop,
+        subscription,
+        pollFragmentLimit,
+        Math.max(pollFragmentLimit, maxPollFragmentLimit),
+        reassemblyBufferPool,
+        parallelReceiveBufferLength,
+        parallelReceiveMaxMessageLength);
   }
 
   /**
@@ -391,6 +648,53 @@ Mono<MessagePublication> publication(
                                 })));
   }
 
+  /**
+   * Creates aeron {@link ExclusivePublication}, wraps it into {@link MessagePublication} paired
+   * with {@link DefaultAeronInbound} of given image, then registers both in event loop with single
+   * command.
+   *
+   * @param channel aeron channel
+   * @param streamId aeron stream id
+   * @param options aeron options
+   * @param image aeron image
+   * @param eventLoop aeron event loop
+   * @return mono result; inbound with its {@link DefaultAeronInbound#pairedPublication()}
+   */
+  Mono<DefaultAeronInbound> publicationAndInbound(
+      String channel, int streamId, AeronOptions options, Image image, AeronEventLoop eventLoop) {
+    return Mono.defer(
+        () ->
+            aeronPublication(channel, streamId)
+                .subscribeOn(scheduler)
+                .doOnError(
+                    ex ->
+                        logger.error(
+                            "{} failed on aeronPublication(), channel: {}, cause: {}",
+                            this,
+                            channel,
+                            ex.toString()))
+                .flatMap(
+                    aeronPublication -> {
+                      MessagePublication publication =
+                          new MessagePublication(aeronPublication, options, eventLoop);
+                      DefaultAeronInbound inbound = newInbound(image, null, eventLoop);
+                      inbound.pairedPublication(publication);
+                      return eventLoop
+                          .registerAll(Arrays.<AeronResource>asList(publication, inbound))
+                          .thenReturn(inbound)
+                          .doOnError(
+                              ex -> {
+                                logger.error(
+                                    "{} failed on registerPublicationAndInbound(), cause: {}",
+                                    this,
+                                    ex.toString());
+                                if (!aeronPublication.isClosed()) {
+                                  aeronPublication.close();
+                                }
+                              });
+                    }));
+  }
+
   private Mono<Publication> aeronPublication(String channel, int streamId) {
     return Mono.fromCallable(
         () -> {
@@ -517,6 +821,8 @@ private Mono<Void> doDispose() {
               .then(eventLoopGroup.onDispose())
               .doFinally(
                   s -> {
+                    unregisterReassemblyBufferPool();
+
                     CloseHelper.quietClose(aeron);
 
                     CloseHelper.quietClose(mediaDriver);
@@ -529,6 +835,34 @@ private Mono<Void> doDispose() {
         });
   }
 
+  private void registerReassemblyBufferPool() {
+    try {
+      MBeanServer mbeanServer = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName =
+          new ObjectName("reactor.aeron:name=reassembly-buffer-pool-" + hashCodeString());
+      mbeanServer.registerMBean(
+          new StandardMBean(reassemblyBufferPool, ReassemblyBufferPoolMBean.class), objectName);
+      reassemblyBufferPoolName = objectName;
+    } catch (Exception ex) {
+      logger.warn("{} failed to register reassembly buffer pool MBean: {}", this, ex.toString());
+    }
+  }
+
+  private void unregisterReassemblyBufferPool() {
+    if (reassemblyBufferPoolName != null) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(reassemblyBufferPoolName);
+      } catch (Exception ex) {
+        logger.warn(
+            "{} failed to unregister reassembly buffer pool MBean: {}", this, ex.toString());
+      }
+    }
+  }
+
+  private String hashCodeString() {
+    return Integer.toHexString(System.identityHashCode(this));
+  }
+
   private void deleteAeronDirectory(String aeronDirectoryName) {
     File aeronDirectory = Paths.get(aeronDirectoryName).toFile();
     if (aeronDirectory.exists()) {
@@ -539,6 +873,6 @@ private void deleteAeronDirectory(String aeronDirectoryName) {
 
   @Override
   public String toString() {
-    return "AeronResources" + Integer.toHexString(System.identityHashCode(this));
+    return "AeronResources" + hashCodeString();
   }
 }
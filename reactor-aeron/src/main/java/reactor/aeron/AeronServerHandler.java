@@ -99,16 +99,11 @@ private void onImageAvailable(Image image) {
     logger.debug(
         "{}: creating server connection: {}", Integer.toHexString(sessionId), outboundChannel);
 
-    AeronEventLoop eventLoop = resources.nextEventLoop();
+    AeronEventLoop eventLoop = resources.nextEventLoop(image.sourceIdentity());
 
     resources
-        .publication(outboundChannel, STREAM_ID, options, eventLoop)
-        .flatMap(
-            publication ->
-                resources
-                    .inbound(image, null /*subscription*/, eventLoop)
-                    .doOnError(ex -> publication.dispose())
-                    .flatMap(inbound -> newConnection(sessionId, publication, inbound)))
+        .publicationAndInbound(outboundChannel, STREAM_ID, options, image, eventLoop)
+        .flatMap(inbound -> newConnection(sessionId, inbound.pairedPublication(), inbound))
         .doOnSuccess(
             connection ->
                 logger.debug(
@@ -0,0 +1,146 @@
+package reactor.aeron;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pins threads to CPUs on Linux. Affinity is applied by thread to itself with {@code taskset}
+ * (which calls {@code sched_setaffinity}) for its thread id taken from {@code /proc/thread-self},
+ * so there is no native dependency, at a cost of a process forked per pinned thread. {@link
+ * AeronResources#start()} fails if configured affinity can't be applied (other OS, no {@code
+ * taskset}, kernel older than 3.17, CPUs outside of allowed ones); if it still fails later for a
+ * particular thread, a warning is logged and thread keeps running unpinned.
+ *
+ * <p>CPU list has {@code taskset} format, e.g. {@code "2"}, {@code "2,3"} or {@code "4-7"}.
+ */
+public final class CpuAffinity {
+
+  private static final Logger logger = LoggerFactory.getLogger(CpuAffinity.class);
+
+  private static final Pattern CPU_LIST = Pattern.compile("[0-9]+(-[0-9]+)?(,[0-9]+(-[0-9]+)?)*");
+
+  private static final boolean IS_LINUX =
+      System.getProperty("os.name", "").toLowerCase().startsWith("linux");
+
+  private static final long TASKSET_TIMEOUT_SECONDS = 5;
+
+  private CpuAffinity() {
+    // Do not instantiate
+  }
+
+  /**
+   * Pins current thread to given CPUs.
+   *
+   * @param cpuList CPU list, {@code null} or empty string means no pinning
+   * @return {@code true} if thread got pinned, {@code false} otherwise
+   */
+  public static boolean apply(String cpuList) {
+    if (cpuList == null || cpuList.isEmpty()) {
+      return false;
+    }
+    String failure = pinCurrentThread(cpuList);
+    if (failure != null) {
+      logger.warn(
+          "Failed to pin {} to CPUs {}: {}", Thread.currentThread().getName(), cpuList, failure);
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Checks that threads can be pinned to given CPUs by pinning short-lived probe thread to them, so
+   * that misconfiguration fails fast instead of leaving threads unpinned.
+   *
+   * @param cpuList CPU list
+   * @throws IllegalStateException if threads can't be pinned to given CPUs
+   */
+  static void verify(String cpuList) {
+    String[] failure = new String[1];
+    Thread probe = new Thread(() -> failure[0] = pinCurrentThread(cpuList), "cpu-affinity-probe");
+    probe.start();
+    try {
+      probe.join();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      failure[0] = "interrupted";
+    }
+    if (failure[0] != null) {
+      throw AeronExceptions.failWithCpuAffinity(cpuList, failure[0]);
+    }
+  }
+
+  /**
+   * Pins current thread to given CPUs.
+   *
+   * @param cpuList CPU list
+   * @return {@code null} if thread got pinned, reason of failure otherwise
+   */
+  private static String pinCurrentThread(String cpuList) {
+    if (!CPU_LIST.matcher(cpuList).matches()) {
+      throw new IllegalArgumentException("Invalid CPU list: " + cpuList);
+    }
+    if (!IS_LINUX) {
+      return "CPU affinity is supported on Linux only";
+    }
+    try {
+      // resolves to /proc/<pid>/task/<tid>
+      Path thread = Paths.get("/proc/thread-self").toRealPath();
+      String tid = thread.getFileName().toString();
+      Process process =
+          new ProcessBuilder("taskset", "-p", "-c", cpuList, tid).redirectErrorStream(true).start();
+      // output is read only after process exits, so that hung taskset can't block thread start;
+      // it is a line or two, far less than pipe buffer, so taskset never blocks on writing it
+      if (!process.waitFor(TASKSET_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+        process.destroyForcibly();
+        return "taskset timed out";
+      }
+      String output = readFully(process.getInputStream());
+      if (process.exitValue() != 0) {
+        return output.trim();
+      }
+      logger.debug(
+          "Pinned {} (tid {}) to CPUs {}", Thread.currentThread().getName(), tid, cpuList);
+      return null;
+    } catch (IOException ex) {
+      return ex.toString();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return "interrupted";
+    }
+  }
+
+  /**
+   * Returns thread factory which creates threads with given factory and pins every thread to given
+   * CPUs once it starts. Suited for agents of embedded media driver, e.g. {@code
+   * MediaDriver.Context.senderThreadFactory(...)}.
+   *
+   * @param delegate thread factory
+   * @param cpuList CPU list
+   * @return thread factory
+   */
+  public static ThreadFactory threadFactory(ThreadFactory delegate, String cpuList) {
+    return r ->
+        delegate.newThread(
+            () -> {
+              apply(cpuList);
+              r.run();
+            });
+  }
+
+  private static String readFully(InputStream inputStream) throws IOException {
+    StringBuilder result = new StringBuilder();
+    byte[] bytes = new byte[256];
+    for (int n; (n = inputStream.read(bytes)) != -1; ) {
+      result.append(new String(bytes, 0, n, StandardCharsets.UTF_8));
+    }
+    return result.toString();
+  }
+}
@@ -0,0 +1,26 @@
+package reactor.aeron;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Decodes message straight from {@link DirectBuffer}, see {@link
+ * DirectBufferFlux#decode(Decoder)}. Decoder may be a flyweight (see {@link MessageFlyweight},
+ * {@link Utf8SequenceView}) which wraps the buffer and returns itself, so that nothing gets
+ * allocated per message; result of such decoder is valid only as long as the buffer is (for
+ * example until {@code onNext} returns for {@link AeronInbound#receiveFlyweight()}).
+ *
+ * @param <T> decoded type
+ */
+@FunctionalInterface
+public interface Decoder<T> {
+
+  /**
+   * Decodes message.
+   *
+   * @param buffer buffer containing message
+   * @param offset offset of message in buffer
+   * @param length length of message
+   * @return decoded message
+   */
+  T decode(DirectBuffer buffer, int offset, int length);
+}
@@ -1,48 +1,92 @@
 package reactor.aeron;
 
 import io.aeron.Image;
-import io.aeron.ImageFragmentAssembler;
+import io.aeron.logbuffer.BlockHandler;
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
 import io.aeron.logbuffer.FragmentHandler;
 import io.aeron.logbuffer.Header;
+import io.aeron.logbuffer.RawBlockHandler;
+import java.util.Arrays;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.ToIntFunction;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.collections.ArrayUtil;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.CoreSubscriber;
+import reactor.core.Disposable;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Operators;
+import reactor.core.publisher.ParallelFlux;
+import reactor.core.scheduler.Scheduler;
 
-final class DefaultAeronInbound implements AeronInbound, AeronResource {
+final class DefaultAeronInbound implements AeronInbound, MigratableResource {
 
   private static final Logger logger = LoggerFactory.getLogger(DefaultAeronInbound.class);
 
   private static final AtomicLongFieldUpdater<DefaultAeronInbound> REQUESTED =
       AtomicLongFieldUpdater.newUpdater(DefaultAeronInbound.class, "requested");
 
+  @SuppressWarnings("rawtypes")
   private static final AtomicReferenceFieldUpdater<DefaultAeronInbound, CoreSubscriber>
       DESTINATION_SUBSCRIBER =
           AtomicReferenceFieldUpdater.newUpdater(
               DefaultAeronInbound.class, CoreSubscriber.class, "destinationSubscriber");
 
-  private static final CoreSubscriber<? super DirectBuffer> CANCELLED_SUBSCRIBER =
-      new CancelledSubscriber();
+  private static final CoreSubscriber<Object> CANCELLED_SUBSCRIBER = new CancelledSubscriber();
 
-  private final int fragmentLimit;
+  // occupies destination subscriber slot while direct handler is registered
+  private static final CoreSubscriber<Object> DIRECT_SUBSCRIBER = new CancelledSubscriber();
+
+  private static final int MIN_FRAGMENT_LIMIT = 1;
+
+  private final int maxFragmentLimit;
+  private int fragmentLimit;
   private final Image image;
-  private final AeronEventLoop eventLoop;
-  private final FluxReceive inbound = new FluxReceive();
-  private final FragmentHandler fragmentHandler =
-      new ImageFragmentAssembler(new FragmentHandlerImpl());
+  private volatile AeronEventLoop eventLoop;
+  private final FluxReceive<DirectBuffer> inbound = new FluxReceive<>(false, null, false);
+  private final UnsafeBuffer flyweight = new UnsafeBuffer(0, 0);
+  private final DirectBufferBatch batch = new DirectBufferBatch();
+  private final MulticastSubscriber multicast = new MulticastSubscriber();
+  private final ReassemblyBufferPool reassemblyBufferPool;
+  private final int parallelReceiveBufferLength;
+  private final int parallelReceiveMaxMessageLength;
+  private final PooledFragmentAssembler fragmentHandler;
+  private final PooledFragmentAssembler batchFragmentHandler;
   private final MessageSubscription subscription;
 
+  // remainder of coalesced aeron frame which didn't fit into demand
+  private MutableDirectBuffer pendingBatch;
+  private int pendingBatchOffset;
+  private int pendingBatchLimit;
+  // action of receive gate which stopped emitting coalesced messages, or null
+  private Action batchAction;
+
   private volatile long requested;
   private volatile boolean fastpath;
+  private volatile boolean reuseFlyweight;
+  private volatile ReceiveGate receiveGate;
+  private volatile boolean receiveBatch;
+  private volatile boolean receiveMulticast;
+  private volatile PooledFragmentAssembler directHandler;
+  private volatile BlockHandler blockHandler;
+  private volatile RawBlockHandler rawBlockHandler;
+  private volatile int blockLengthLimit;
   private long produced;
-  private volatile CoreSubscriber<? super DirectBuffer> destinationSubscriber;
+  private volatile CoreSubscriber<?> destinationSubscriber;
+  // publication of the same connection, migrated together with this inbound
+  private volatile MessagePublication pairedPublication;
+  private volatile boolean closed;
+
+  // number of fragments polled since last rebalancing, see AeronEventLoop#migrateHottest
+  long workCount;
 
   /**
    * Constructor.
@@ -50,14 +94,33 @@ final class DefaultAeronInbound implements AeronInbound, AeronResource {
    * @param image image
    * @param eventLoop event loop
    * @param subscription subscription
-   * @param fragmentLimit fragment limit
+   * @param fragmentLimit initial fragment limit
+   * @param maxFragmentLimit max fragment limit
+   * @param reassemblyBufferPool pool of buffers for reassembling fragmented messages
+   * @param parallelReceiveBufferLength length of ring buffer of parallel receive rail
+   * @param parallelReceiveMaxMessageLength max length of message copied into ring buffer of rail
    */
   DefaultAeronInbound(
-      Image image, AeronEventLoop eventLoop, MessageSubscription subscription, int fragmentLimit) {
+      Image image,
+      AeronEventLoop eventLoop,
+      MessageSubscription subscription,
+      int fragmentLimit,
+      int maxFragmentLimit,
+      ReassemblyBufferPool reassemblyBufferPool,
+      int parallelReceiveBufferLength,
+      int parallelReceiveMaxMessageLength) {
     this.image = image;
     this.eventLoop = eventLoop;
     this.subscription = subscription;
     this.fragmentLimit = fragmentLimit;
+    this.maxFragmentLimit = maxFragmentLimit;
+    this.reassemblyBufferPool = reassemblyBufferPool;
+    this.parallelReceiveBufferLength = parallelReceiveBufferLength;
+    this.parallelReceiveMaxMessageLength = parallelReceiveMaxMessageLength;
+    this.fragmentHandler =
+        new PooledFragmentAssembler(new FragmentHandlerImpl(), reassemblyBufferPool);
+    this.batchFragmentHandler =
+        new PooledFragmentAssembler(new BatchFragmentHandlerImpl(), reassemblyBufferPool);
   }
 
   @Override
@@ -65,35 +128,345 @@ public DirectBufferFlux receive() {
     return new DirectBufferFlux(inbound);
   }
 
-  int poll() {
+  @Override
+  public DirectBufferFlux receiveFlyweight() {
+    return new DirectBufferFlux(new FluxReceive<>(true, null, false));
+  }
+
+  @Override
+  public DirectBufferFlux receive(ReceiveGate gate) {
+    return new DirectBufferFlux(new FluxReceive<>(false, gate, false));
+  }
+
+  @Override
+  public Flux<DirectBufferBatch> receiveBatch() {
+    return new FluxReceive<>(false, null, true);
+  }
+
+  @Override
+  public DirectBufferFlux receiveMulticast() {
+    return new DirectBufferFlux(new FluxReceiveMulticast());
+  }
+
+  @Override
+  public ParallelFlux<DirectBuffer> receiveParallel(
+      int parallelism, ToIntFunction<? super DirectBuffer> keyExtractor, Scheduler scheduler) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+    }
+    return new FluxReceiveParallel(parallelism, keyExtractor, scheduler);
+  }
+
+  @Override
+  public Disposable receiveDirect(FragmentHandler handler) {
+    PooledFragmentAssembler fragmentHandler =
+        new PooledFragmentAssembler(new DirectFragmentHandler(handler), reassemblyBufferPool);
+    registerDirect();
+    directHandler = fragmentHandler;
+    return inbound::cancel;
+  }
+
+  @Override
+  public Disposable receiveBlocks(BlockHandler handler, int blockLengthLimit) {
+    registerDirect();
+    this.blockLengthLimit = blockLengthLimit;
+    blockHandler = handler;
+    return inbound::cancel;
+  }
+
+  @Override
+  public Disposable receiveRawBlocks(RawBlockHandler handler, int blockLengthLimit) {
+    registerDirect();
+    this.blockLengthLimit = blockLengthLimit;
+    rawBlockHandler = handler;
+    return inbound::cancel;
+  }
+
+  private void registerDirect() {
+    if (!DESTINATION_SUBSCRIBER.compareAndSet(this, null, DIRECT_SUBSCRIBER)) {
+      // only one receiver is allowed
+      throw Exceptions.duplicateOnSubscribeException();
+    }
+  }
+
+  /**
+   * Polls image for up to current fragment limit of this inbound, but not more than given budget.
+   * See also {@link #adaptFragmentLimit(int, int)}.
+   *
+   * @param budget max number of fragments this inbound is allowed to poll
+   * @return number of fragments (or messages) received
+   */
+  int poll(int budget) {
     if (destinationSubscriber == CANCELLED_SUBSCRIBER) {
       return 0;
     }
-    if (fastpath) {
-      return image.poll(fragmentHandler, fragmentLimit);
+    int limit = Math.min(fragmentLimit, budget);
+    PooledFragmentAssembler directHandler = this.directHandler;
+    if (directHandler != null) {
+      return adaptFragmentLimit(image.controlledPoll(directHandler, limit), limit);
     }
-    int r = (int) Math.min(requested, fragmentLimit);
-    int fragments = 0;
-    if (r > 0) {
-      fragments = image.poll(fragmentHandler, r);
-      if (produced > 0) {
-        Operators.produced(REQUESTED, this, produced);
-        produced = 0;
+    if (blockHandler != null || rawBlockHandler != null) {
+      return pollBlock(limit);
+    }
+    if (receiveBatch) {
+      return pollBatch(limit);
+    }
+    if (receiveMulticast) {
+      // only loop thread updates demand in multicast mode
+      requested = multicast.demand();
+    }
+    int result = 0;
+    if (pendingBatchLimit > 0) {
+      result += drainPendingBatch();
+    }
+    if (pendingBatchLimit == 0) {
+      int r = fastpath ? limit : (int) Math.min(requested - produced, limit);
+      if (r > 0) {
+        result += adaptFragmentLimit(image.controlledPoll(fragmentHandler, r), r);
       }
     }
+    if (produced > 0) {
+      Operators.produced(REQUESTED, this, produced);
+      produced = 0;
+    }
+    return result;
+  }
+
+  /**
+   * Polls contiguous block of term buffer, up to block length limit but not more than {@code
+   * limit} frames of max length, so that block receive takes its share of event loop budget as
+   * other inbounds.
+   *
+   * @param limit fragment limit
+   * @return number of frames of max length the block amounts to
+   */
+  private int pollBlock(int limit) {
+    int mtuLength = image.mtuLength();
+    int lengthLimit = (int) Math.min(blockLengthLimit, (long) limit * mtuLength);
+    BlockHandler blockHandler = this.blockHandler;
+    int bytes =
+        blockHandler != null
+            ? image.blockPoll(blockHandler, lengthLimit)
+            : image.rawPoll(rawBlockHandler, lengthLimit);
+    return adaptFragmentLimit((bytes + mtuLength - 1) / mtuLength, limit);
+  }
+
+  /**
+   * Adapts fragment limit of this inbound to its load: doubles it (up to {@code maxFragmentLimit})
+   * if poll took all of it, halves it if poll took less than a quarter of it. Polls limited by
+   * demand or budget (to less than fragment limit) tell nothing about load and don't change limit.
+   *
+   * @param fragments number of fragments polled
+   * @param limit fragment limit applied to poll
+   * @return number of fragments polled
+   */
+  private int adaptFragmentLimit(int fragments, int limit) {
+    if (limit != fragmentLimit) {
+      return fragments;
+    }
+    if (fragments >= limit) {
+      fragmentLimit = Math.min(fragmentLimit << 1, maxFragmentLimit);
+    } else if (fragments < limit >> 2) {
+      fragmentLimit = Math.max(fragmentLimit >> 1, MIN_FRAGMENT_LIMIT);
+    }
     return fragments;
   }
 
+  /**
+   * Returns current fragment limit, see {@link #adaptFragmentLimit(int, int)}. Must be called from
+   * within event loop thread.
+   *
+   * @return fragment limit
+   */
+  int fragmentLimit() {
+    return fragmentLimit;
+  }
+
+  /**
+   * Polls image for up to {@code limit} fragments and emits all messages received as single {@link
+   * DirectBufferBatch} (which takes one unit of demand).
+   *
+   * @param limit fragment limit
+   * @return number of fragments received
+   */
+  private int pollBatch(int limit) {
+    if (!hasDemand()) {
+      return 0;
+    }
+    int result = adaptFragmentLimit(image.controlledPoll(batchFragmentHandler, limit), limit);
+    if (batch.size() > 0) {
+      try {
+        CoreSubscriber<? super DirectBufferBatch> destination = destination();
+        destination.onNext(batch);
+      } finally {
+        batch.reset();
+      }
+      if (!fastpath) {
+        Operators.produced(REQUESTED, this, 1);
+      }
+    }
+    return result;
+  }
+
+  private boolean hasDemand() {
+    return fastpath || produced < requested;
+  }
+
+  /**
+   * Returns destination subscriber typed by receive mode: it gets {@link DirectBufferBatch} from
+   * {@link #receiveBatch()} and {@link DirectBuffer} otherwise.
+   *
+   * @param <T> type of messages emitted in current receive mode
+   * @return destination subscriber
+   */
+  @SuppressWarnings("unchecked")
+  private <T> CoreSubscriber<? super T> destination() {
+    return (CoreSubscriber<? super T>) destinationSubscriber;
+  }
+
+  /**
+   * Emits messages of coalesced aeron frame (see {@link MessagePublication#BATCH_RESERVED_VALUE})
+   * while there is demand and receive gate lets through. If gate stopped emitting, its action is
+   * kept in {@link #batchAction}.
+   *
+   * @param buffer buffer with coalesced messages
+   * @param offset offset of first message
+   * @param limit limit of coalesced messages
+   * @param reused whether buffer gets reused once messages are emitted, see {@link #emit}
+   * @return offset of first message which was not emitted, or {@code limit}
+   */
+  private int emitBatch(DirectBuffer buffer, int offset, int limit, boolean reused) {
+    batchAction = null;
+    while (offset < limit && hasDemand()) {
+      int length = buffer.getShort(offset) & 0xFFFF;
+      Action action =
+          emit(buffer, offset + MessagePublication.BATCH_LENGTH_FIELD_SIZE, length, reused);
+      if (action == Action.ABORT) {
+        batchAction = action;
+        break;
+      }
+      offset += MessagePublication.BATCH_LENGTH_FIELD_SIZE + length;
+      if (action == Action.BREAK) {
+        batchAction = action;
+        break;
+      }
+    }
+    return offset;
+  }
+
+  private int drainPendingBatch() {
+    long before = produced;
+    pendingBatchOffset = emitBatch(pendingBatch, pendingBatchOffset, pendingBatchLimit, true);
+    if (pendingBatchOffset == pendingBatchLimit) {
+      pendingBatchOffset = 0;
+      pendingBatchLimit = 0;
+    }
+    return (int) (produced - before);
+  }
+
+  /**
+   * Emits message to destination subscriber unless receive gate (if any) returned {@link
+   * Action#ABORT} for it. Unless flyweight is reused, subscriber may retain emitted buffer, so
+   * message is copied if its buffer gets reused by following messages (reassembly buffer borrowed
+   * from pool, or remainder of coalesced frame).
+   *
+   * @param buffer buffer with message
+   * @param offset offset of message
+   * @param length length of message
+   * @param reused whether buffer gets reused once message is emitted
+   * @return action returned by receive gate, or {@link Action#CONTINUE} if there is no gate
+   */
+  private Action emit(DirectBuffer buffer, int offset, int length, boolean reused) {
+    ReceiveGate gate = receiveGate;
+    Action action = gate != null ? gate.onMessage(buffer, offset, length) : Action.CONTINUE;
+    if (action == Action.ABORT) {
+      return action;
+    }
+
+    produced++;
+
+    CoreSubscriber<? super DirectBuffer> destination = destination();
+
+    if (reuseFlyweight) {
+      flyweight.wrap(buffer, offset, length);
+      destination.onNext(flyweight);
+    } else if (reused) {
+      UnsafeBuffer copy = new UnsafeBuffer(new byte[length]);
+      copy.putBytes(0, buffer, offset, length);
+      destination.onNext(copy);
+    } else {
+      destination.onNext(new UnsafeBuffer(buffer, offset, length));
+    }
+    return action;
+  }
+
   @Override
   public void close() {
     if (!eventLoop.inEventLoop()) {
       throw AeronExceptions.failWithResourceDisposal("aeron inbound");
     }
+    closed = true;
     inbound.cancel();
+    fragmentHandler.close();
+    batchFragmentHandler.close();
+    if (directHandler != null) {
+      directHandler.close();
+    }
     logger.debug("Cancelled inbound");
   }
 
+  @Override
+  public AeronEventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  @Override
+  public void onDetach(AeronEventLoop eventLoop) {
+    // inbound has no timers
+    this.eventLoop = eventLoop;
+  }
+
+  @Override
+  public void onAttach() {
+    // no-op
+  }
+
+  @Override
+  public boolean isDisposed() {
+    return closed;
+  }
+
+  /**
+   * Returns subscription owned by this inbound (client side), or {@code null} if subscription is
+   * shared by inbounds of several images (server side).
+   *
+   * @return owned subscription or {@code null}
+   */
+  MessageSubscription subscription() {
+    return subscription;
+  }
+
+  MessagePublication pairedPublication() {
+    return pairedPublication;
+  }
+
+  void pairedPublication(MessagePublication publication) {
+    this.pairedPublication = publication;
+  }
+
   void dispose() {
+    AeronEventLoop eventLoop = this.eventLoop;
+    if (subscription != null && subscription.eventLoop() == eventLoop) {
+      // dispose both with single command
+      eventLoop
+          .disposeAll(Arrays.asList(this, subscription))
+          .subscribe(
+              null,
+              th -> {
+                // no-op
+              });
+      return;
+    }
     eventLoop
         .dispose(this)
         .subscribe(
@@ -106,20 +479,96 @@ void dispose() {
     }
   }
 
-  private class FragmentHandlerImpl implements FragmentHandler {
+  private class FragmentHandlerImpl implements ControlledFragmentHandler {
 
     @Override
-    public void onFragment(DirectBuffer buffer, int offset, int length, Header header) {
-      produced++;
+    public Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+      if (pendingBatchLimit > 0 || !hasDemand()) {
+        return Action.ABORT;
+      }
 
-      CoreSubscriber<? super DirectBuffer> destination =
-          DefaultAeronInbound.this.destinationSubscriber;
+      if (header.reservedValue() != MessagePublication.BATCH_RESERVED_VALUE) {
+        // message reassembled from several fragments is in buffer borrowed from pool
+        return emit(buffer, offset, length, buffer != header.buffer());
+      }
 
-      destination.onNext(new UnsafeBuffer(buffer, offset, length));
+      int limit = offset + length;
+      int pendingOffset = emitBatch(buffer, offset, limit, false);
+      if (pendingOffset == offset && batchAction == Action.ABORT) {
+        // nothing emitted, leave whole frame in term buffer
+        return Action.ABORT;
+      }
+      if (pendingOffset < limit) {
+        if (pendingBatch == null) {
+          pendingBatch = new ExpandableArrayBuffer(length);
+        }
+        pendingBatchLimit = limit - pendingOffset;
+        pendingBatch.putBytes(0, buffer, pendingOffset, pendingBatchLimit);
+      }
+      return batchAction != null ? Action.BREAK : Action.CONTINUE;
+    }
+  }
+
+  private class BatchFragmentHandlerImpl implements ControlledFragmentHandler {
+
+    @Override
+    public Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+      if (header.reservedValue() == MessagePublication.BATCH_RESERVED_VALUE) {
+        for (int index = offset, limit = offset + length; index < limit; ) {
+          int messageLength = buffer.getShort(index) & 0xFFFF;
+          index += MessagePublication.BATCH_LENGTH_FIELD_SIZE;
+          batch.add(buffer, index, messageLength);
+          index += messageLength;
+        }
+      } else if (buffer != header.buffer()) {
+        // message reassembled from several fragments, its buffer gets reused by next one
+        batch.addCopy(buffer, offset, length);
+      } else {
+        batch.add(buffer, offset, length);
+      }
+      return Action.CONTINUE;
     }
   }
 
-  private class FluxReceive extends Flux<DirectBuffer> implements Subscription {
+  /**
+   * Passes messages to handler registered by {@link #receiveDirect(FragmentHandler)}, splitting
+   * coalesced aeron frames (see {@link MessagePublication#BATCH_RESERVED_VALUE}) into messages.
+   */
+  private static class DirectFragmentHandler implements ControlledFragmentHandler {
+
+    private final FragmentHandler delegate;
+
+    private DirectFragmentHandler(FragmentHandler delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+      if (header.reservedValue() != MessagePublication.BATCH_RESERVED_VALUE) {
+        delegate.onFragment(buffer, offset, length, header);
+        return Action.CONTINUE;
+      }
+      for (int index = offset, limit = offset + length; index < limit; ) {
+        int messageLength = buffer.getShort(index) & 0xFFFF;
+        index += MessagePublication.BATCH_LENGTH_FIELD_SIZE;
+        delegate.onFragment(buffer, index, messageLength, header);
+        index += messageLength;
+      }
+      return Action.CONTINUE;
+    }
+  }
+
+  private class FluxReceive<T> extends Flux<T> implements Subscription {
+
+    private final boolean flyweight;
+    private final ReceiveGate gate;
+    private final boolean batch;
+
+    private FluxReceive(boolean flyweight, ReceiveGate gate, boolean batch) {
+      this.flyweight = flyweight;
+      this.gate = gate;
+      this.batch = batch;
+    }
 
     @Override
     public void request(long n) {
@@ -136,7 +585,7 @@ public void request(long n) {
 
     @Override
     public void cancel() {
-      CoreSubscriber destination =
+      CoreSubscriber<?> destination =
           DESTINATION_SUBSCRIBER.getAndSet(DefaultAeronInbound.this, CANCELLED_SUBSCRIBER);
       if (destination != null) {
         destination.onComplete();
@@ -147,11 +596,14 @@ public void cancel() {
     }
 
     @Override
-    public void subscribe(CoreSubscriber<? super DirectBuffer> destinationSubscriber) {
+    public void subscribe(CoreSubscriber<? super T> destinationSubscriber) {
       boolean result =
           DESTINATION_SUBSCRIBER.compareAndSet(
               DefaultAeronInbound.this, null, destinationSubscriber);
       if (result) {
+        reuseFlyweight = flyweight;
+        receiveGate = gate;
+        receiveBatch = batch;
         destinationSubscriber.onSubscribe(this);
       } else {
         // only subscriber is allowed on receive()
@@ -160,7 +612,220 @@ public void subscribe(CoreSubscriber<? super DirectBuffer> destinationSubscriber
     }
   }
 
-  private static class CancelledSubscriber implements CoreSubscriber<DirectBuffer> {
+  private class FluxReceiveMulticast extends Flux<DirectBuffer> {
+
+    @Override
+    public void subscribe(CoreSubscriber<? super DirectBuffer> actual) {
+      boolean first =
+          destinationSubscriber == null
+              && DESTINATION_SUBSCRIBER.compareAndSet(DefaultAeronInbound.this, null, multicast);
+      if (destinationSubscriber != multicast) {
+        // receiveMulticast() can't be combined with other receive modes
+        Operators.error(actual, Exceptions.duplicateOnSubscribeException());
+        return;
+      }
+      MulticastSubscription subscription = new MulticastSubscription(actual, multicast);
+      actual.onSubscribe(subscription);
+      multicast.add(subscription);
+      if (first) {
+        // image gets polled only once first subscriber is added, so it doesn't miss messages
+        receiveMulticast = true;
+      }
+      if (destinationSubscriber == CANCELLED_SUBSCRIBER && multicast.remove(subscription)) {
+        actual.onComplete();
+      }
+    }
+  }
+
+  /**
+   * Destination subscriber in multicast mode (see {@link #receiveMulticast()}), passes every
+   * message to all registered subscribers. Its demand is the lowest demand of subscribers. Once all
+   * subscribers are gone it keeps draining image and drops messages, so that sender isn't stalled
+   * and image stays available for subscribers coming later.
+   */
+  private static class MulticastSubscriber implements CoreSubscriber<DirectBuffer> {
+
+    private static final MulticastSubscription[] EMPTY = new MulticastSubscription[0];
+
+    private static final AtomicReferenceFieldUpdater<MulticastSubscriber, MulticastSubscription[]>
+        SUBSCRIPTIONS =
+            AtomicReferenceFieldUpdater.newUpdater(
+                MulticastSubscriber.class, MulticastSubscription[].class, "subscriptions");
+
+    private volatile MulticastSubscription[] subscriptions = EMPTY;
+
+    // subscribers taken into account by last demand(), messages are emitted only to them
+    private MulticastSubscription[] targets = EMPTY;
+
+    /**
+     * Accounts messages emitted by previous poll and returns lowest demand of subscribers. Called
+     * on event loop thread before every poll.
+     *
+     * @return lowest demand of subscribers, unbounded if there are no subscribers
+     */
+    long demand() {
+      //noinspection ForLoopReplaceableByForEach
+      for (int i = 0; i < targets.length; i++) {
+        targets[i].demand();
+      }
+      MulticastSubscription[] subscriptions = this.subscriptions;
+      targets = subscriptions;
+      if (subscriptions.length == 0) {
+        // drain and drop
+        return Long.MAX_VALUE;
+      }
+      long demand = Long.MAX_VALUE;
+      //noinspection ForLoopReplaceableByForEach
+      for (int i = 0; i < subscriptions.length; i++) {
+        demand = Math.min(demand, subscriptions[i].demand());
+      }
+      return demand;
+    }
+
+    void add(MulticastSubscription subscription) {
+      MulticastSubscription[] oldArray;
+      MulticastSubscription[] newArray;
+      do {
+        oldArray = subscriptions;
+        newArray = ArrayUtil.add(oldArray, subscription);
+      } while (!SUBSCRIPTIONS.compareAndSet(this, oldArray, newArray));
+    }
+
+    boolean remove(MulticastSubscription subscription) {
+      MulticastSubscription[] oldArray;
+      MulticastSubscription[] newArray;
+      do {
+        oldArray = subscriptions;
+        newArray = ArrayUtil.remove(oldArray, subscription);
+        if (newArray == oldArray) {
+          return false;
+        }
+      } while (!SUBSCRIPTIONS.compareAndSet(this, oldArray, newArray));
+      return true;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      // no-op
+    }
+
+    @Override
+    public void onNext(DirectBuffer buffer) {
+      MulticastSubscription[] targets = this.targets;
+      //noinspection ForLoopReplaceableByForEach
+      for (int i = 0; i < targets.length; i++) {
+        targets[i].onNext(buffer);
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      // no-op
+    }
+
+    @Override
+    public void onComplete() {
+      for (MulticastSubscription subscription : SUBSCRIPTIONS.getAndSet(this, EMPTY)) {
+        subscription.actual.onComplete();
+      }
+    }
+  }
+
+  private class FluxReceiveParallel extends ParallelFlux<DirectBuffer> {
+
+    private final int parallelism;
+    private final ToIntFunction<? super DirectBuffer> keyExtractor;
+    private final Scheduler scheduler;
+
+    private FluxReceiveParallel(
+        int parallelism, ToIntFunction<? super DirectBuffer> keyExtractor, Scheduler scheduler) {
+      this.parallelism = parallelism;
+      this.keyExtractor = keyExtractor;
+      this.scheduler = scheduler;
+    }
+
+    @Override
+    public int parallelism() {
+      return parallelism;
+    }
+
+    @Override
+    public void subscribe(CoreSubscriber<? super DirectBuffer>[] subscribers) {
+      if (!validate(subscribers)) {
+        return;
+      }
+      ParallelDispatcher dispatcher =
+          new ParallelDispatcher(
+              subscribers,
+              keyExtractor,
+              scheduler,
+              parallelReceiveBufferLength,
+              parallelReceiveMaxMessageLength,
+              inbound::cancel);
+      if (!DESTINATION_SUBSCRIBER.compareAndSet(DefaultAeronInbound.this, null, dispatcher)) {
+        // only one receiver is allowed
+        for (CoreSubscriber<? super DirectBuffer> subscriber : subscribers) {
+          Operators.error(subscriber, Exceptions.duplicateOnSubscribeException());
+        }
+        return;
+      }
+      reuseFlyweight = true;
+      receiveGate = dispatcher;
+      // dispatcher applies backpressure by leaving messages in term buffer, see ReceiveGate
+      requested = Long.MAX_VALUE;
+      fastpath = true;
+      dispatcher.subscribeRails();
+    }
+  }
+
+  private static class MulticastSubscription implements Subscription {
+
+    private static final AtomicLongFieldUpdater<MulticastSubscription> REQUESTED =
+        AtomicLongFieldUpdater.newUpdater(MulticastSubscription.class, "requested");
+
+    private final CoreSubscriber<? super DirectBuffer> actual;
+    private final MulticastSubscriber parent;
+
+    private volatile long requested;
+    private volatile boolean cancelled;
+    private long produced;
+
+    private MulticastSubscription(
+        CoreSubscriber<? super DirectBuffer> actual, MulticastSubscriber parent) {
+      this.actual = actual;
+      this.parent = parent;
+    }
+
+    long demand() {
+      if (produced > 0) {
+        Operators.produced(REQUESTED, this, produced);
+        produced = 0;
+      }
+      return requested;
+    }
+
+    void onNext(DirectBuffer buffer) {
+      if (!cancelled) {
+        produced++;
+        actual.onNext(buffer);
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      if (Operators.validate(n)) {
+        Operators.addCap(REQUESTED, this, n);
+      }
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      parent.remove(this);
+    }
+  }
+
+  private static class CancelledSubscriber implements CoreSubscriber<Object> {
 
     @Override
     public void onSubscribe(Subscription s) {
@@ -168,10 +833,15 @@ public void onSubscribe(Subscription s) {
     }
 
     @Override
-    public void onNext(DirectBuffer directBuffer) {
-      logger.warn(
-          "Received buffer(len={}) which will be dropped immediately due cancelled aeron inbound",
-          directBuffer.capacity());
+    public void onNext(Object value) {
+      if (value instanceof DirectBuffer) {
+        logger.warn(
+            "Received buffer(len={}) which will be dropped immediately due cancelled aeron inbound",
+            ((DirectBuffer) value).capacity());
+      } else {
+        logger.warn(
+            "Received {} which will be dropped immediately due cancelled aeron inbound", value);
+      }
     }
 
     @Override
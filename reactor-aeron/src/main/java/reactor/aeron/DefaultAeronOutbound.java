@@ -1,8 +1,11 @@
 package reactor.aeron;
 
+import io.aeron.DirectBufferVector;
+import io.aeron.logbuffer.BufferClaim;
 import java.nio.ByteBuffer;
-import java.nio.charset.StandardCharsets;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableDirectByteBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
@@ -21,10 +24,20 @@ final class DefaultAeronOutbound implements AeronOutbound {
     this.publication = publication;
   }
 
+  MessagePublication publication() {
+    return publication;
+  }
+
   @Override
   public <B> AeronOutbound send(
       Publisher<B> dataStream, DirectBufferHandler<? super B> bufferHandler) {
-    return then(publication.publish(dataStream, bufferHandler));
+    return send(dataStream, bufferHandler, Priority.NORMAL);
+  }
+
+  @Override
+  public <B> AeronOutbound send(
+      Publisher<B> dataStream, DirectBufferHandler<? super B> bufferHandler, Priority priority) {
+    return then(publication.publish(dataStream, bufferHandler, priority));
   }
 
   @Override
@@ -42,16 +55,12 @@ public AeronOutbound sendBytes(Publisher<byte[]> dataStream) {
 
   @Override
   public AeronOutbound sendString(Publisher<String> dataStream) {
-    if (dataStream instanceof Flux) {
-      return send(
-          ((Flux<String>) dataStream)
-              .map(s -> s.getBytes(StandardCharsets.UTF_8))
-              .map(UnsafeBuffer::new));
-    }
-    return send(
-        ((Mono<String>) dataStream)
-            .map(s -> s.getBytes(StandardCharsets.UTF_8))
-            .map(UnsafeBuffer::new));
+    return send(dataStream, new CharSequenceHandlerImpl());
+  }
+
+  @Override
+  public AeronOutbound sendChars(Publisher<? extends CharSequence> dataStream) {
+    return send(dataStream, new CharSequenceHandlerImpl());
   }
 
   @Override
@@ -62,6 +71,21 @@ public AeronOutbound sendBuffer(Publisher<ByteBuffer> dataStream) {
     return send(((Mono<ByteBuffer>) dataStream).map(UnsafeBuffer::new));
   }
 
+  @Override
+  public AeronOutbound sendVectors(Publisher<DirectBufferVector[]> dataStream) {
+    return send(dataStream, DirectBufferVectorHandlerImpl.DEFAULT_INSTANCE);
+  }
+
+  @Override
+  public long tryOffer(DirectBuffer buffer, int offset, int length) {
+    return publication.tryOffer(buffer, offset, length);
+  }
+
+  @Override
+  public long tryClaim(int length, BufferClaim bufferClaim) {
+    return publication.tryClaim(length, bufferClaim);
+  }
+
   void dispose() {
     publication.dispose();
   }
@@ -89,4 +113,136 @@ public void dispose(DirectBuffer buffer) {
       // no-op
     }
   }
+
+  /**
+   * Default implementation of {@link DirectBufferVectorHandler} with buffer type {@code
+   * DirectBufferVector[]}. Function {@link #dispose()} does nothing.
+   */
+  private static class DirectBufferVectorHandlerImpl
+      implements DirectBufferVectorHandler<DirectBufferVector[]> {
+
+    private static final DirectBufferVectorHandlerImpl DEFAULT_INSTANCE =
+        new DirectBufferVectorHandlerImpl();
+
+    @Override
+    public int estimateLength(DirectBufferVector[] vectors) {
+      int length = 0;
+      //noinspection ForLoopReplaceableByForEach
+      for (int i = 0; i < vectors.length; i++) {
+        length += vectors[i].length();
+      }
+      return length;
+    }
+
+    @Override
+    public DirectBufferVector[] mapVectors(DirectBufferVector[] vectors) {
+      return vectors;
+    }
+
+    @Override
+    public void dispose(DirectBufferVector[] vectors) {
+      // no-op
+    }
+  }
+
+  /**
+   * Implementation of {@link DirectBufferWriteHandler} with buffer type {@link CharSequence}. Encodes
+   * UTF-8 straight into aeron term buffer (or into reused buffer for messages exceeding max payload
+   * length), without intermediate {@code byte[]}. Malformed surrogates are encoded as {@code '?'},
+   * same as {@link String#getBytes(java.nio.charset.Charset)} does. Instance is stateful, hence it
+   * is created per {@code sendString()} call; its methods are called on event loop thread only.
+   * Encoded length is cached for the last {@link String} only, as other sequences (e.g. reused
+   * {@code StringBuilder}) may change between calls.
+   */
+  private static class CharSequenceHandlerImpl implements DirectBufferWriteHandler<CharSequence> {
+
+    private final UnsafeBuffer mapBuffer = new UnsafeBuffer(0, 0);
+
+    private ExpandableDirectByteBuffer encodeBuffer;
+    private String lastString;
+    private int lastLength;
+
+    @Override
+    public int estimateLength(CharSequence sequence) {
+      if (sequence == lastString) {
+        return lastLength;
+      }
+      int length = 0;
+      for (int i = 0, n = sequence.length(); i < n; i++) {
+        char c = sequence.charAt(i);
+        if (c < 0x80) {
+          length++;
+        } else if (c < 0x800) {
+          length += 2;
+        } else if (Character.isSurrogate(c)) {
+          if (isSurrogatePair(sequence, i)) {
+            length += 4;
+            i++;
+          } else {
+            length++;
+          }
+        } else {
+          length += 3;
+        }
+      }
+      if (sequence instanceof String) {
+        lastString = (String) sequence;
+        lastLength = length;
+      }
+      return length;
+    }
+
+    @Override
+    public DirectBuffer map(CharSequence sequence, int length) {
+      if (encodeBuffer == null) {
+        encodeBuffer = new ExpandableDirectByteBuffer(length);
+      }
+      encodeBuffer.checkLimit(length);
+      write(sequence, encodeBuffer, 0, length);
+      mapBuffer.wrap(encodeBuffer, 0, length);
+      return mapBuffer;
+    }
+
+    @Override
+    public void dispose(CharSequence sequence) {
+      if (sequence == lastString) {
+        lastString = null;
+      }
+    }
+
+    @Override
+    public void write(
+        CharSequence sequence, MutableDirectBuffer destination, int offset, int length) {
+      int index = offset;
+      for (int i = 0, n = sequence.length(); i < n; i++) {
+        char c = sequence.charAt(i);
+        if (c < 0x80) {
+          destination.putByte(index++, (byte) c);
+        } else if (c < 0x800) {
+          destination.putByte(index++, (byte) (0xC0 | (c >> 6)));
+          destination.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isSurrogate(c)) {
+          if (isSurrogatePair(sequence, i)) {
+            int codePoint = Character.toCodePoint(c, sequence.charAt(++i));
+            destination.putByte(index++, (byte) (0xF0 | (codePoint >> 18)));
+            destination.putByte(index++, (byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+            destination.putByte(index++, (byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+            destination.putByte(index++, (byte) (0x80 | (codePoint & 0x3F)));
+          } else {
+            destination.putByte(index++, (byte) '?');
+          }
+        } else {
+          destination.putByte(index++, (byte) (0xE0 | (c >> 12)));
+          destination.putByte(index++, (byte) (0x80 | ((c >> 6) & 0x3F)));
+          destination.putByte(index++, (byte) (0x80 | (c & 0x3F)));
+        }
+      }
+    }
+
+    private static boolean isSurrogatePair(CharSequence sequence, int index) {
+      return Character.isHighSurrogate(sequence.charAt(index))
+          && index + 1 < sequence.length()
+          && Character.isLowSurrogate(sequence.charAt(index + 1));
+    }
+  }
 }
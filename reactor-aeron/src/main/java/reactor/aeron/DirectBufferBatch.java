@@ -0,0 +1,112 @@
+package reactor.aeron;
+
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+
+/**
+ * Reusable view over messages received by single poll of aeron image, see {@link
+ * AeronInbound#receiveBatch()}. Message is described by buffer, offset and length; buffer is
+ * usually aeron term buffer, so messages are not copied. View is valid only until {@code onNext}
+ * returns.
+ */
+public final class DirectBufferBatch {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private DirectBuffer[] buffers = new DirectBuffer[INITIAL_CAPACITY];
+  private int[] offsets = new int[INITIAL_CAPACITY];
+  private int[] lengths = new int[INITIAL_CAPACITY];
+  private int size;
+
+  // copies of messages reassembled from several fragments
+  private ExpandableArrayBuffer copies;
+  private int copiesLength;
+
+  DirectBufferBatch() {}
+
+  /**
+   * Returns number of messages in this batch.
+   *
+   * @return number of messages
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns buffer containing message at given index.
+   *
+   * @param index index of message
+   * @return buffer containing message
+   */
+  public DirectBuffer buffer(int index) {
+    checkIndex(index);
+    return buffers[index];
+  }
+
+  /**
+   * Returns offset of message at given index in its buffer.
+   *
+   * @param index index of message
+   * @return offset of message
+   */
+  public int offset(int index) {
+    checkIndex(index);
+    return offsets[index];
+  }
+
+  /**
+   * Returns length of message at given index.
+   *
+   * @param index index of message
+   * @return length of message
+   */
+  public int length(int index) {
+    checkIndex(index);
+    return lengths[index];
+  }
+
+  void add(DirectBuffer buffer, int offset, int length) {
+    if (size == buffers.length) {
+      int capacity = size << 1;
+      DirectBuffer[] buffers = new DirectBuffer[capacity];
+      System.arraycopy(this.buffers, 0, buffers, 0, size);
+      this.buffers = buffers;
+      int[] offsets = new int[capacity];
+      System.arraycopy(this.offsets, 0, offsets, 0, size);
+      this.offsets = offsets;
+      int[] lengths = new int[capacity];
+      System.arraycopy(this.lengths, 0, lengths, 0, size);
+      this.lengths = lengths;
+    }
+    buffers[size] = buffer;
+    offsets[size] = offset;
+    lengths[size] = length;
+    size++;
+  }
+
+  void addCopy(DirectBuffer buffer, int offset, int length) {
+    if (copies == null) {
+      copies = new ExpandableArrayBuffer(length);
+    }
+    copies.putBytes(copiesLength, buffer, offset, length);
+    add(copies, copiesLength, length);
+    copiesLength += length;
+  }
+
+  void reset() {
+    size = 0;
+    copiesLength = 0;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "DirectBufferBatch{size=" + size + "}";
+  }
+}
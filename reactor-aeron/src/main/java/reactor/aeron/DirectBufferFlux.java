@@ -1,6 +1,8 @@
 package reactor.aeron;
 
 import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+import org.agrona.AsciiSequenceView;
 import org.agrona.DirectBuffer;
 import reactor.core.CoreSubscriber;
 import reactor.core.publisher.Flux;
@@ -30,4 +32,49 @@ public Flux<String> asString() {
           return new String(bytes, StandardCharsets.UTF_8);
         });
   }
+
+  /**
+   * Decodes every buffer with given decoder. Decoder is shared by all subscribers of returned flux;
+   * if it is a flyweight (see {@link Decoder}) use {@link #decode(Supplier)} instead.
+   *
+   * @param decoder decoder
+   * @param <T> decoded type
+   * @return flux of decoded messages
+   */
+  public <T> Flux<T> decode(Decoder<? extends T> decoder) {
+    return map(buffer -> decoder.decode(buffer, 0, buffer.capacity()));
+  }
+
+  /**
+   * Decodes every buffer with decoder obtained from given supplier once per subscriber, so that
+   * flyweight decoders are not shared between subscribers.
+   *
+   * @param decoderSupplier supplier of decoder
+   * @param <T> decoded type
+   * @return flux of decoded messages
+   */
+  public <T> Flux<T> decode(Supplier<? extends Decoder<? extends T>> decoderSupplier) {
+    return Flux.defer(() -> decode(decoderSupplier.get()));
+  }
+
+  /**
+   * Applies transformation {@link DirectBuffer} to reused {@link CharSequence} view over ASCII
+   * chars of the buffer, without copying. Emitted view is valid only as long as the buffer is.
+   *
+   * @return {@code Flux<CharSequence>} instance
+   */
+  public Flux<CharSequence> asAsciiSequence() {
+    return decode(() -> (Decoder<CharSequence>) new AsciiSequenceView()::wrap);
+  }
+
+  /**
+   * Applies transformation {@link DirectBuffer} to reused {@link CharSequence} with UTF-8 decoded
+   * chars of the buffer (see {@link Utf8SequenceView}). Emitted sequence is valid until next
+   * message is emitted.
+   *
+   * @return {@code Flux<CharSequence>} instance
+   */
+  public Flux<CharSequence> asCharSequence() {
+    return decode(Utf8SequenceView::new);
+  }
 }
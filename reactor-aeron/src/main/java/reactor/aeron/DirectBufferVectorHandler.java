@@ -0,0 +1,44 @@
+package reactor.aeron;
+
+import io.aeron.DirectBufferVector;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Variant of {@link DirectBufferHandler} for messages consisting of several segments (for example
+ * small header and large pre-encoded body). Segments get gathered by aeron straight into term
+ * buffer, without assembling them into contiguous buffer first.
+ *
+ * @param <B> abstract buffer type (comes from client code)
+ */
+public interface DirectBufferVectorHandler<B> extends DirectBufferHandler<B> {
+
+  /**
+   * Maps buffer to segments of message. Called on event loop thread, hence returned array (and its
+   * elements) can be reused between calls. Overall length of segments must be equal to {@link
+   * #estimateLength(Object)}.
+   *
+   * @param buffer abstract buffer
+   * @return segments of message
+   */
+  DirectBufferVector[] mapVectors(B buffer);
+
+  /**
+   * Assembles segments of message into newly allocated buffer. Not used on publishing path, see
+   * {@link #mapVectors(Object)}.
+   *
+   * @param buffer abstract buffer
+   * @param length overall length of segments
+   * @return buffer with assembled segments
+   */
+  @Override
+  default DirectBuffer map(B buffer, int length) {
+    UnsafeBuffer result = new UnsafeBuffer(new byte[length]);
+    int offset = 0;
+    for (DirectBufferVector vector : mapVectors(buffer)) {
+      result.putBytes(offset, vector.buffer(), vector.offset(), vector.length());
+      offset += vector.length();
+    }
+    return result;
+  }
+}
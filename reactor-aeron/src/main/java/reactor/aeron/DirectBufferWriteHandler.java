@@ -0,0 +1,25 @@
+package reactor.aeron;
+
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Variant of {@link DirectBufferHandler} which writes buffer content straight into claimed region
+ * of aeron term buffer, so that content doesn't get copied by aeron. {@link #map(Object, int)} is
+ * used only for messages exceeding max payload length of aeron publication.
+ *
+ * @param <B> abstract buffer type (comes from client code)
+ */
+public interface DirectBufferWriteHandler<B> extends DirectBufferHandler<B> {
+
+  /**
+   * Writes buffer content straight into claimed region of aeron term buffer. Called on event loop
+   * thread only if {@link #estimateLength(Object)} is not greater than max payload length of aeron
+   * publication; exactly {@code length} bytes starting from {@code offset} must be written.
+   *
+   * @param buffer abstract buffer
+   * @param destination claimed aeron term buffer
+   * @param offset offset in destination at which content should be written
+   * @param length length of content, as returned by {@link #estimateLength(Object)}
+   */
+  void write(B buffer, MutableDirectBuffer destination, int offset, int length);
+}
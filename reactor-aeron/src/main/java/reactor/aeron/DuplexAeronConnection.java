@@ -40,6 +40,7 @@ final class DuplexAeronConnection implements AeronConnection {
     this.sessionId = sessionId;
     this.inbound = inbound;
     this.outbound = outbound;
+    inbound.pairedPublication(outbound.publication());
 
     dispose
         .or(disposeHook)
@@ -0,0 +1,86 @@
+package reactor.aeron;
+
+import java.nio.ByteOrder;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Base class of flyweight decoders which read fields of message straight from {@link
+ * DirectBuffer}, without materializing objects. Subclass defines accessors on top of primitive
+ * readers, e.g. {@code long price() { return getLong(8); }}; decoding only wraps the buffer and
+ * returns this flyweight.
+ *
+ * @param <F> flyweight type
+ */
+public abstract class MessageFlyweight<F extends MessageFlyweight<F>> implements Decoder<F> {
+
+  private final UnsafeBuffer buffer = new UnsafeBuffer(0, 0);
+  private final ByteOrder byteOrder;
+
+  /** Constructor of flyweight reading fields in little endian order. */
+  protected MessageFlyweight() {
+    this(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param byteOrder byte order of fields
+   */
+  protected MessageFlyweight(ByteOrder byteOrder) {
+    this.byteOrder = byteOrder;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public F decode(DirectBuffer buffer, int offset, int length) {
+    this.buffer.wrap(buffer, offset, length);
+    return (F) this;
+  }
+
+  /**
+   * Returns buffer wrapped over current message, for fields which don't fit primitive readers.
+   *
+   * @return buffer wrapped over message
+   */
+  protected DirectBuffer buffer() {
+    return buffer;
+  }
+
+  /**
+   * Returns length of current message.
+   *
+   * @return length of message
+   */
+  public int length() {
+    return buffer.capacity();
+  }
+
+  protected byte getByte(int offset) {
+    return buffer.getByte(offset);
+  }
+
+  protected short getShort(int offset) {
+    return buffer.getShort(offset, byteOrder);
+  }
+
+  protected char getChar(int offset) {
+    return buffer.getChar(offset, byteOrder);
+  }
+
+  protected int getInt(int offset) {
+    return buffer.getInt(offset, byteOrder);
+  }
+
+  protected long getLong(int offset) {
+    return buffer.getLong(offset, byteOrder);
+  }
+
+  protected float getFloat(int offset) {
+    return buffer.getFloat(offset, byteOrder);
+  }
+
+  protected double getDouble(int offset) {
+    return buffer.getDouble(offset, byteOrder);
+  }
+}
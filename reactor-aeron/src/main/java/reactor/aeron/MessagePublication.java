@@ -1,10 +1,25 @@
 package reactor.aeron;
 
+import io.aeron.DirectBufferVector;
 import io.aeron.Publication;
+import io.aeron.ReservedValueSupplier;
+import io.aeron.logbuffer.BufferClaim;
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
+import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.Arrays;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import org.agrona.BitUtil;
+import org.agrona.DeadlineTimerWheel;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.ArrayUtil;
+import org.agrona.concurrent.OneToOneConcurrentArrayQueue;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.reactivestreams.Publisher;
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
@@ -15,26 +30,63 @@
 import reactor.core.publisher.MonoProcessor;
 import reactor.core.publisher.SignalType;
 
-class MessagePublication implements OnDisposable, AeronResource {
+class MessagePublication implements OnDisposable, MigratableResource {
 
   private static final Logger logger = LoggerFactory.getLogger(MessagePublication.class);
 
+  /** Reserved value of aeron frame carrying coalesced messages ("reactor!" in ASCII). */
+  static final long BATCH_RESERVED_VALUE = 0x7265_6163_746f_7221L;
+
+  /** Size of length field preceding every message in coalesced aeron frame. */
+  static final int BATCH_LENGTH_FIELD_SIZE = BitUtil.SIZE_OF_SHORT;
+
+  /** Length of aeron frame carrying empty message, initial estimate of frame length. */
+  private static final int MIN_FRAME_LENGTH =
+      BitUtil.align(DataHeaderFlyweight.HEADER_LENGTH, FrameDescriptor.FRAME_ALIGNMENT);
+
+  private static final ReservedValueSupplier BATCH_RESERVED_VALUE_SUPPLIER =
+      (termBuffer, termOffset, frameLength) -> BATCH_RESERVED_VALUE;
+
+  @SuppressWarnings("rawtypes")
   private static final AtomicReferenceFieldUpdater<MessagePublication, PublisherProcessor[]>
       PUBLISHER_PROCESSORS =
           AtomicReferenceFieldUpdater.newUpdater(
               MessagePublication.class, PublisherProcessor[].class, "publisherProcessors");
 
   private final Publication publication;
-  private final AeronEventLoop eventLoop;
+  private volatile AeronEventLoop eventLoop;
   private final Duration connectTimeout;
   private final Duration backpressureTimeout;
   private final Duration adminActionTimeout;
+  private final int prefetch;
+  private final int quota;
+  private final boolean batching;
+  private final int batchingThreshold;
+  private final BufferClaim bufferClaim = new BufferClaim();
+
+  private final PublishTimeout batchTimeout = new PublishTimeout(this);
+
+  private UnsafeBuffer batchBuffer;
+  private int batchLength;
+  private int batchCount;
+  // processors having messages in staged batch, they complete only once batch gets published
+  private PublisherProcessor<?>[] batchProcessors = new PublisherProcessor<?>[0];
+  private int batchProcessorCount;
 
   private volatile Throwable lastError;
 
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
 
-  private volatile PublisherProcessor[] publisherProcessors = new PublisherProcessor[0];
+  private volatile PublisherProcessor<?>[] publisherProcessors = new PublisherProcessor<?>[0];
+
+  private PublisherProcessor<?>[] scheduledProcessors = new PublisherProcessor<?>[0];
+  private int tick;
+
+  private boolean backPressured;
+  private long parkedPositionLimit;
+
+  // number of messages published since last rebalancing, see AeronEventLoop#migrateHottest
+  long workCount;
 
   /**
    * Constructor.
@@ -49,6 +101,13 @@ class MessagePublication implements OnDisposable, AeronResource {
     this.connectTimeout = options.connectTimeout();
     this.backpressureTimeout = options.backpressureTimeout();
     this.adminActionTimeout = options.adminActionTimeout();
+    this.prefetch = options.outboundPrefetch();
+    this.quota = options.outboundQuota();
+    this.batching = options.outboundBatching();
+    this.batchingThreshold =
+        Math.min(
+            options.outboundBatchingThreshold(),
+            publication.maxPayloadLength() - BATCH_LENGTH_FIELD_SIZE);
   }
 
   /**
@@ -56,12 +115,15 @@ class MessagePublication implements OnDisposable, AeronResource {
    *
    * @param publisher abstract publisher to process messages from
    * @param bufferHandler abstract buffer handler
+   * @param priority priority of publisher relative to others on this publication
    * @return mono handle
    */
-  <B> Mono<Void> publish(Publisher<B> publisher, DirectBufferHandler<? super B> bufferHandler) {
+  <B> Mono<Void> publish(
+      Publisher<B> publisher, DirectBufferHandler<? super B> bufferHandler, Priority priority) {
     return Mono.defer(
         () -> {
-          PublisherProcessor<B> processor = new PublisherProcessor<>(bufferHandler, this);
+          PublisherProcessor<B> processor =
+              new PublisherProcessor<>(bufferHandler, priority, this);
           publisher.subscribe(processor);
           return processor.onDispose();
         });
@@ -69,103 +131,266 @@ <B> Mono<Void> publish(Publisher<B> publisher, DirectBufferHandler<? super B> bu
 
   /**
    * Makes a progress at processing publisher processors collection. See for details {@link
-   * PublisherProcessor}.
+   * PublisherProcessor}. Processors are served in order of their {@link Priority} and round-robin
+   * within the same priority (starting point shifts every call), each processor publishes up to
+   * its per-tick quota. Upstream demand of every processor is driven by its equal share of
+   * publication window (see {@link Publication#availableWindow()}).
+   *
+   * <p>Failure of a single processor (e.g. its buffer handler throws) fails only that processor.
+   * Publication gets disposed (failing all of its processors) if aeron publication is closed,
+   * exceeds max position or doesn't resolve failure within timeout.
    *
    * @return more than or equal {@code 1} - some progress was done; {@code 0} - denotes no progress
    *     was done
    */
   int publish() {
 
-    PublisherProcessor[] oldArray = this.publisherProcessors;
+    int n = schedule(this.publisherProcessors);
     int result = 0;
+    backPressured = false;
 
-    Exception ex = null;
+    if (n > 0) {
+      int window = (int) Math.min(Math.max(publication.availableWindow(), 0), Integer.MAX_VALUE);
+      for (int i = 0; i < n; i++) {
+        scheduledProcessors[i].request(window / n);
+      }
+    }
 
-    //noinspection ForLoopReplaceableByForEach
-    for (int i = 0; i < oldArray.length; i++) {
-      PublisherProcessor processor = oldArray[i];
+    try {
+      if (batching) {
+        result += publishBatch(scheduledProcessors, n);
+      }
+      if (batchLength == 0) {
+        result += publishEach(scheduledProcessors, n);
+      }
+    } catch (Exception ex) {
+      lastError = ex;
+      dispose();
+    }
 
-      processor.request();
+    return result;
+  }
 
-      Object buffer = processor.buffer;
-      if (buffer == null) {
-        continue;
-      }
+  /**
+   * Lays out processors into {@link #scheduledProcessors} in order they should be served on this
+   * tick. Given array is sorted by priority, hence only starting point of every priority group is
+   * shifted.
+   *
+   * @param processors publisher processors sorted by priority
+   * @return number of scheduled processors
+   */
+  private int schedule(PublisherProcessor<?>[] processors) {
+    int n = processors.length;
+    if (scheduledProcessors.length < n) {
+      scheduledProcessors = new PublisherProcessor<?>[n];
+    }
 
-      long r = 0;
+    int tick = this.tick++ & Integer.MAX_VALUE;
 
-      try {
-        r = processor.publish(buffer);
-      } catch (Exception e) {
-        ex = e;
+    for (int from = 0, to; from < n; from = to) {
+      Priority priority = processors[from].priority;
+      to = from + 1;
+      while (to < n && processors[to].priority == priority) {
+        to++;
+      }
+      int size = to - from;
+      int offset = tick % size;
+      for (int i = 0; i < size; i++) {
+        scheduledProcessors[from + i] = processors[from + (offset + i) % size];
       }
+    }
+
+    return n;
+  }
+
+  private int publishEach(PublisherProcessor<?>[] processors, int count) {
+    int result = 0;
+
+    for (int i = 0; i < count; i++) {
+      PublisherProcessor<?> processor = processors[i];
+
+      for (int n = 0; n < processor.quota; n++) {
+        if (processor.peek() == null) {
+          break;
+        }
+
+        long r;
+        try {
+          if (batching && processor.estimateLength() <= batchingThreshold) {
+            break;
+          }
+          r = processor.publish();
+        } catch (Exception ex) {
+          processor.onProcessingError(ex);
+          break;
+        }
+
+        if (r > 0) {
+          result++;
+          processor.onPublished();
+          continue;
+        }
 
-      if (r > 0) {
-        result++;
-        processor.reset();
-        continue;
+        checkPublishResult(r, processor.timeout);
+
+        if (r == Publication.BACK_PRESSURED || r == Publication.NOT_CONNECTED) {
+          backPressured = r == Publication.BACK_PRESSURED;
+          // window is shared, give it to processors served first on the next tick
+          return result;
+        }
+        break;
       }
+    }
+
+    return result;
+  }
 
-      // Handle closed publication
-      if (r == Publication.CLOSED) {
-        logger.warn("aeron.Publication is CLOSED: {}", this);
-        ex = AeronExceptions.failWithPublication("aeron.Publication is CLOSED");
+  /**
+   * Coalesces small messages (not longer than {@link AeronOptions#outboundBatchingThreshold()})
+   * from publisher processors into single aeron frame (up to {@link
+   * Publication#maxPayloadLength()}), each message is prepended with length field. Batch frame is
+   * marked with {@link #BATCH_RESERVED_VALUE}, so {@link DefaultAeronInbound} splits it back
+   * transparently. Staged batch is retried until it gets published or timeout expires; messages
+   * which don't fit into a batch are published by {@link #publishEach(PublisherProcessor[], int)}
+   * only after staged batch is gone. Processor having messages in staged batch doesn't complete
+   * until batch is published, and fails if publication gets disposed before that.
+   *
+   * @param processors scheduled publisher processors
+   * @param count number of scheduled publisher processors
+   * @return number of messages published
+   */
+  private int publishBatch(PublisherProcessor<?>[] processors, int count) {
+    if (batchBuffer == null) {
+      batchBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(publication.maxPayloadLength()));
+    }
+
+    if (batchLength == 0) {
+      for (int i = 0; i < count; i++) {
+        fillBatch(processors[i]);
       }
+    }
 
-      // Handle max position exceeded
-      if (r == Publication.MAX_POSITION_EXCEEDED) {
-        logger.warn("aeron.Publication received MAX_POSITION_EXCEEDED: {}", this);
-        ex =
-            AeronExceptions.failWithPublication("aeron.Publication received MAX_POSITION_EXCEEDED");
+    if (batchLength == 0) {
+      return 0;
+    }
+
+    long r = publication.offer(batchBuffer, 0, batchLength, BATCH_RESERVED_VALUE_SUPPLIER);
+
+    if (r > 0) {
+      int result = batchCount;
+      batchLength = 0;
+      batchCount = 0;
+      batchTimeout.reset();
+      for (int i = 0; i < batchProcessorCount; i++) {
+        batchProcessors[i].onBatchPublished();
+        batchProcessors[i] = null;
       }
+      batchProcessorCount = 0;
+      return result;
+    }
 
-      // Handle failed connection
-      if (r == Publication.NOT_CONNECTED) {
-        if (processor.isTimeoutElapsed(connectTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve NOT_CONNECTED within {} ms, {}",
-              connectTimeout.toMillis(),
-              this);
-          ex =
-              AeronExceptions.failWithPublication("Failed to resolve NOT_CONNECTED within timeout");
-        }
+    checkPublishResult(r, batchTimeout);
+    backPressured = r == Publication.BACK_PRESSURED;
+    return 0;
+  }
+
+  /**
+   * Returns {@code true} if last {@link #publish()} call was stopped by {@link
+   * Publication#BACK_PRESSURED}, and {@code false} otherwise. Such publication gets parked by
+   * event loop (see {@link #park()}) instead of retrying on every tick.
+   *
+   * @return {@code true} if publication is back pressured
+   */
+  boolean isBackPressured() {
+    return backPressured;
+  }
+
+  /** Remembers current position limit of publication, see {@link #isUnparkable()}. */
+  void park() {
+    parkedPositionLimit = publication.positionLimit();
+  }
+
+  /**
+   * Returns {@code true} if parked publication got more window since {@link #park()} (i.e. position
+   * limit counter moved forward) and should be published again, and {@code false} otherwise. This
+   * is a single volatile read, much cheaper than retrying offer.
+   *
+   * @return {@code true} if publication may be unparked
+   */
+  boolean isUnparkable() {
+    return publication.positionLimit() != parkedPositionLimit;
+  }
+
+  private void fillBatch(PublisherProcessor<?> processor) {
+    for (int n = 0; n < processor.quota; n++) {
+      if (processor.peek() == null) {
+        return;
       }
 
-      // Handle backpressure
-      if (r == Publication.BACK_PRESSURED) {
-        if (processor.isTimeoutElapsed(backpressureTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve BACK_PRESSURED within {} ms, {}",
-              backpressureTimeout.toMillis(),
-              this);
-          ex =
-              AeronExceptions.failWithPublication(
-                  "Failed to resolve BACK_PRESSURED within timeout");
+      int length;
+      try {
+        length = processor.estimateLength();
+        if (length > batchingThreshold) {
+          // published on its own by publishEach, after staged batch
+          return;
+        }
+        if (BATCH_LENGTH_FIELD_SIZE + length > batchBuffer.capacity() - batchLength) {
+          return;
         }
+        // message gets into batch only once it's written entirely
+        batchBuffer.putShort(batchLength, (short) length);
+        processor.write(batchBuffer, batchLength + BATCH_LENGTH_FIELD_SIZE, length);
+      } catch (Exception ex) {
+        processor.onProcessingError(ex);
+        return;
       }
+      batchLength += BATCH_LENGTH_FIELD_SIZE + length;
+      batchCount++;
 
-      // Handle admin action
-      if (r == Publication.ADMIN_ACTION) {
-        if (processor.isTimeoutElapsed(adminActionTimeout)) {
-          logger.warn(
-              "aeron.Publication failed to resolve ADMIN_ACTION within {} ms, {}",
-              adminActionTimeout.toMillis(),
-              this);
-          ex = AeronExceptions.failWithPublication("Failed to resolve ADMIN_ACTION within timeout");
+      if (processor.onStaged()) {
+        if (batchProcessorCount == batchProcessors.length) {
+          batchProcessors = Arrays.copyOf(batchProcessors, Math.max(batchProcessorCount << 1, 4));
         }
+        batchProcessors[batchProcessorCount++] = processor;
       }
+    }
+  }
 
-      if (ex != null) {
-        break;
-      }
+  private void checkPublishResult(long r, PublishTimeout timeout) {
+    // Handle closed publication
+    if (r == Publication.CLOSED) {
+      logger.warn("aeron.Publication is CLOSED: {}", this);
+      throw AeronExceptions.failWithPublication("aeron.Publication is CLOSED");
     }
 
-    if (ex != null) {
-      lastError = ex;
-      dispose();
+    // Handle max position exceeded
+    if (r == Publication.MAX_POSITION_EXCEEDED) {
+      logger.warn("aeron.Publication received MAX_POSITION_EXCEEDED: {}", this);
+      throw AeronExceptions.failWithPublication(
+          "aeron.Publication received MAX_POSITION_EXCEEDED");
     }
 
-    return result;
+    // Handle failed connection, backpressure and admin action, see PublishTimeout
+    if (r == Publication.NOT_CONNECTED
+        || r == Publication.BACK_PRESSURED
+        || r == Publication.ADMIN_ACTION) {
+      timeout.onFailure(r);
+    }
+  }
+
+  private void onPublishTimeout(long r, Duration timeout) {
+    String reason =
+        r == Publication.NOT_CONNECTED
+            ? "NOT_CONNECTED"
+            : r == Publication.BACK_PRESSURED ? "BACK_PRESSURED" : "ADMIN_ACTION";
+    logger.warn(
+        "aeron.Publication failed to resolve {} within {} ms, {}",
+        reason,
+        timeout.toMillis(),
+        this);
+    lastError =
+        AeronExceptions.failWithPublication("Failed to resolve " + reason + " within timeout");
+    dispose();
   }
 
   @Override
@@ -180,11 +405,34 @@ public void close() {
       logger.warn("{} failed on aeron.Publication close(): {}", this, ex.toString());
       throw Exceptions.propagate(ex);
     } finally {
+      batchTimeout.reset();
       disposeProcessors();
       onDispose.onComplete();
     }
   }
 
+  @Override
+  public AeronEventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  @Override
+  public void onDetach(AeronEventLoop eventLoop) {
+    batchTimeout.detach();
+    for (PublisherProcessor<?> processor : publisherProcessors) {
+      processor.timeout.detach();
+    }
+    this.eventLoop = eventLoop;
+  }
+
+  @Override
+  public void onAttach() {
+    batchTimeout.attach();
+    for (PublisherProcessor<?> processor : publisherProcessors) {
+      processor.timeout.attach();
+    }
+  }
+
   /**
    * Delegates to {@link Publication#sessionId()}.
    *
@@ -241,6 +489,62 @@ Mono<MessagePublication> ensureConnected() {
         });
   }
 
+  /**
+   * Publishes buffer by claiming region of aeron term buffer and letting {@code bufferHandler}
+   * writing into it directly (see {@link DirectBufferWriteHandler#write}). Claimed region is
+   * aborted if {@code bufferHandler} fails to write.
+   *
+   * @param buffer abstract buffer
+   * @param length length of buffer content
+   * @param bufferHandler abstract buffer handler
+   * @return result of {@link Publication#tryClaim(int, BufferClaim)}
+   */
+  private <B> long claimAndWrite(
+      B buffer, int length, DirectBufferWriteHandler<? super B> bufferHandler) {
+    long result = publication.tryClaim(length, bufferClaim);
+    if (result > 0) {
+      try {
+        bufferHandler.write(buffer, bufferClaim.buffer(), bufferClaim.offset(), length);
+        bufferClaim.commit();
+      } catch (Exception ex) {
+        bufferClaim.abort();
+        throw ex;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Offers buffer to aeron publication right away, see {@link AeronOutbound#tryOffer(DirectBuffer,
+   * int, int)}.
+   *
+   * @param buffer buffer
+   * @param offset offset of message in buffer
+   * @param length length of message
+   * @return result of {@link Publication#offer(DirectBuffer, int, int)}
+   */
+  long tryOffer(DirectBuffer buffer, int offset, int length) {
+    if (!eventLoop.inEventLoop()) {
+      throw AeronExceptions.failWithOutsideEventLoop("tryOffer");
+    }
+    return publication.offer(buffer, offset, length);
+  }
+
+  /**
+   * Claims region of aeron term buffer right away, see {@link AeronOutbound#tryClaim(int,
+   * BufferClaim)}.
+   *
+   * @param length length of message
+   * @param bufferClaim buffer claim to be initialized
+   * @return result of {@link Publication#tryClaim(int, BufferClaim)}
+   */
+  long tryClaim(int length, BufferClaim bufferClaim) {
+    if (!eventLoop.inEventLoop()) {
+      throw AeronExceptions.failWithOutsideEventLoop("tryClaim");
+    }
+    return publication.tryClaim(length, bufferClaim);
+  }
+
   private Mono<Void> ensureConnected0() {
     return Mono.defer(
         () ->
@@ -251,10 +555,16 @@ private Mono<Void> ensureConnected0() {
   }
 
   private void disposeProcessors() {
-    PublisherProcessor[] oldArray = this.publisherProcessors;
-    this.publisherProcessors = new PublisherProcessor[0];
-    for (PublisherProcessor processor : oldArray) {
+    // staged batch is never published, its processors fail below
+    Arrays.fill(batchProcessors, 0, batchProcessorCount, null);
+    batchProcessorCount = 0;
+    batchLength = 0;
+    batchCount = 0;
+    PublisherProcessor<?>[] oldArray = this.publisherProcessors;
+    this.publisherProcessors = new PublisherProcessor<?>[0];
+    for (PublisherProcessor<?> processor : oldArray) {
       try {
+        processor.timeout.reset();
         processor.cancel();
         processor.onParentError(
             Optional.ofNullable(lastError)
@@ -270,23 +580,78 @@ public String toString() {
     return "MessagePublication{pub=" + publication.channel() + "}";
   }
 
+  /**
+   * Computes length of aeron term buffer taken by message published on its own: message longer
+   * than max payload length is fragmented into frames of max length, every frame has header and is
+   * aligned.
+   *
+   * @param length message length
+   * @param maxPayloadLength max payload length of aeron publication
+   * @return overall length of aeron frames carrying message
+   */
+  static int frameLength(int length, int maxPayloadLength) {
+    int fullFrames = length > 0 ? (length - 1) / maxPayloadLength : 0;
+    int lastPayloadLength = length - fullFrames * maxPayloadLength;
+    return fullFrames * (DataHeaderFlyweight.HEADER_LENGTH + maxPayloadLength)
+        + BitUtil.align(
+            DataHeaderFlyweight.HEADER_LENGTH + lastPayloadLength, FrameDescriptor.FRAME_ALIGNMENT);
+  }
+
+  /**
+   * Subscriber of a single {@code send()} stream. Keeps messages in allocation-free
+   * single-producer/single-consumer ring (producer is upstream, consumer is event loop thread).
+   * Number of messages requested from upstream but not yet published follows processor's share of
+   * publication window divided by estimated frame length (at least {@code 1}, at most {@code
+   * prefetch}), so upstream paces itself to receiver's flow control rather than to failed offers.
+   * Demand is replenished in batches as messages get published.
+   */
   private static class PublisherProcessor<B> extends BaseSubscriber<B> implements OnDisposable {
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicIntegerFieldUpdater<PublisherProcessor> TERMINATED =
+        AtomicIntegerFieldUpdater.newUpdater(PublisherProcessor.class, "terminated");
+
     private final DirectBufferHandler<? super B> bufferHandler;
+    private final DirectBufferVectorHandler<? super B> vectorHandler;
+    private final DirectBufferWriteHandler<? super B> writeHandler;
     private final MessagePublication parent;
+    private final Priority priority;
+    private final Queue<B> queue;
+    private final int prefetch;
+    private final int quota;
+    private final PublishTimeout timeout;
 
-    private long start;
-    private boolean requested;
+    private long requested;
+    private long published;
+    private int frameLength = MIN_FRAME_LENGTH;
+    private int lastFrameLength;
 
     private final MonoProcessor<Void> onDispose = MonoProcessor.create();
 
-    private volatile B buffer;
     private volatile Throwable error;
+    private volatile int terminated;
+    // number of messages in staged batch, written by event loop thread only
+    private volatile int staged;
 
     PublisherProcessor(
-        DirectBufferHandler<? super B> bufferHandler, MessagePublication messagePublication) {
+        DirectBufferHandler<? super B> bufferHandler,
+        Priority priority,
+        MessagePublication messagePublication) {
       this.bufferHandler = bufferHandler;
+      this.vectorHandler =
+          bufferHandler instanceof DirectBufferVectorHandler
+              ? (DirectBufferVectorHandler<? super B>) bufferHandler
+              : null;
+      this.writeHandler =
+          bufferHandler instanceof DirectBufferWriteHandler
+              ? (DirectBufferWriteHandler<? super B>) bufferHandler
+              : null;
       this.parent = messagePublication;
+      this.priority = priority;
+      this.prefetch = messagePublication.prefetch;
+      this.quota = priority.quota(messagePublication.quota);
+      this.queue = new OneToOneConcurrentArrayQueue<>(prefetch);
+      this.timeout = new PublishTimeout(messagePublication);
       addSelf();
     }
 
@@ -295,38 +660,95 @@ public Mono<Void> onDispose() {
       return onDispose;
     }
 
-    void request() {
-      if (requested || isDisposed()) {
+    /**
+     * Requests more messages from upstream if number of requested but not yet published messages
+     * dropped below a quarter of the target derived from given window.
+     *
+     * @param window share of publication window in bytes
+     */
+    void request(int window) {
+      if (isDisposed()) {
         return;
       }
 
       Subscription upstream = upstream();
-      if (upstream != null) {
-        requested = true;
-        upstream.request(1);
+      if (upstream == null) {
+        return;
       }
+
+      int target = Math.max(1, Math.min(prefetch, window / frameLength));
+      long n = target - (requested - published);
+      if (n >= target - (target >> 2)) {
+        requested += n;
+        upstream.request(n);
+      }
+    }
+
+    B peek() {
+      return queue.peek();
     }
 
     void onParentError(Throwable throwable) {
-      resetBuffer();
+      B buffer;
+      while ((buffer = queue.poll()) != null) {
+        disposeBuffer(buffer);
+      }
       onDispose.onError(throwable);
     }
 
-    void reset() {
-      resetBuffer();
-
-      if (isDisposed()) {
-        removeSelf();
-        if (error != null) {
-          onDispose.onError(error);
-        } else {
-          onDispose.onComplete();
-        }
-        return;
+    /**
+     * Fails this processor alone on error thrown by its buffer handler: cancels upstream and
+     * releases queued messages. Messages already in staged batch are still published.
+     *
+     * @param ex error
+     */
+    void onProcessingError(Throwable ex) {
+      logger.warn("{} failed to process message of send(), cause: {}", parent, ex.toString());
+      error = ex;
+      timeout.reset();
+      cancel();
+      B buffer;
+      while ((buffer = queue.poll()) != null) {
+        disposeBuffer(buffer);
       }
+      tryTerminate();
+    }
+
+    void onPublished() {
+      consume();
+      tryTerminate();
+    }
 
-      start = 0;
-      requested = false;
+    /**
+     * Takes message copied into staged batch off the queue. Processor can't complete until {@link
+     * #onBatchPublished()}.
+     *
+     * @return {@code true} if this is the first message of processor in the batch
+     */
+    boolean onStaged() {
+      // must be visible before message leaves the queue, see hookFinally()
+      staged++;
+      consume();
+      return staged == 1;
+    }
+
+    void onBatchPublished() {
+      staged = 0;
+      tryTerminate();
+    }
+
+    private void consume() {
+      disposeBuffer(queue.poll());
+      timeout.reset();
+      published++;
+      // moving average of frame length, see request(int)
+      frameLength += (lastFrameLength - frameLength) >> 3;
+    }
+
+    private void tryTerminate() {
+      if (isDisposed() && queue.isEmpty() && staged == 0) {
+        terminate();
+      }
     }
 
     @Override
@@ -336,16 +758,11 @@ protected void hookOnSubscribe(Subscription subscription) {
 
     @Override
     protected void hookOnNext(B value) {
-      if (buffer != null) {
-        try {
-          bufferHandler.dispose(value);
-        } catch (Exception ex) {
-          logger.warn("Failed to release buffer: {}", value, ex);
-        }
+      if (!queue.offer(value)) {
+        disposeBuffer(value);
         throw Exceptions.failWithOverflow(
             "PublisherProcessor is overrun by more signals than expected");
       }
-      buffer = value;
     }
 
     @Override
@@ -355,51 +772,178 @@ protected void hookOnError(Throwable throwable) {
 
     @Override
     protected void hookFinally(SignalType type) {
-      if (buffer == null) {
-        reset();
+      if (queue.isEmpty() && staged == 0) {
+        terminate();
       }
     }
 
-    long publish(B buffer) {
-      if (start == 0) {
-        start = System.currentTimeMillis();
-      }
+    long publish() {
+      B buffer = queue.peek();
       int length = bufferHandler.estimateLength(buffer);
+      lastFrameLength = frameLength(length, parent.publication.maxPayloadLength());
+      if (writeHandler != null && length <= parent.publication.maxPayloadLength()) {
+        return parent.claimAndWrite(buffer, length, writeHandler);
+      }
+      if (vectorHandler != null) {
+        return parent.publication.offer(vectorHandler.mapVectors(buffer));
+      }
       return parent.publication.offer(bufferHandler.map(buffer, length));
     }
 
-    boolean isTimeoutElapsed(Duration timeout) {
-      return System.currentTimeMillis() - start > timeout.toMillis();
+    int estimateLength() {
+      return bufferHandler.estimateLength(queue.peek());
+    }
+
+    void write(MutableDirectBuffer destination, int offset, int length) {
+      B buffer = queue.peek();
+      // header of coalesced frame is shared by its messages in proportion to their lengths
+      int entryLength = BATCH_LENGTH_FIELD_SIZE + length;
+      int maxPayloadLength = parent.publication.maxPayloadLength();
+      lastFrameLength =
+          entryLength
+              + (DataHeaderFlyweight.HEADER_LENGTH * entryLength + maxPayloadLength - 1)
+                  / maxPayloadLength;
+      if (writeHandler != null) {
+        writeHandler.write(buffer, destination, offset, length);
+      } else if (vectorHandler != null) {
+        for (DirectBufferVector vector : vectorHandler.mapVectors(buffer)) {
+          destination.putBytes(offset, vector.buffer(), vector.offset(), vector.length());
+          offset += vector.length();
+        }
+      } else {
+        destination.putBytes(offset, bufferHandler.map(buffer, length), 0, length);
+      }
+    }
+
+    private void terminate() {
+      if (TERMINATED.compareAndSet(this, 0, 1)) {
+        removeSelf();
+        if (error != null) {
+          onDispose.onError(error);
+        } else {
+          onDispose.onComplete();
+        }
+      }
     }
 
-    private void resetBuffer() {
-      B oldBuffer = buffer;
-      buffer = null;
-      if (oldBuffer != null) {
+    private void disposeBuffer(B buffer) {
+      if (buffer != null) {
         try {
-          bufferHandler.dispose(oldBuffer);
+          bufferHandler.dispose(buffer);
         } catch (Exception ex) {
-          logger.warn("Failed to release buffer: {}", oldBuffer, ex);
+          logger.warn("Failed to release buffer: {}", buffer, ex);
         }
       }
     }
 
     private void addSelf() {
-      PublisherProcessor[] oldArray;
-      PublisherProcessor[] newArray;
+      PublisherProcessor<?>[] oldArray;
+      PublisherProcessor<?>[] newArray;
       do {
         oldArray = parent.publisherProcessors;
-        newArray = ArrayUtil.add(oldArray, this);
+        newArray = insert(oldArray, this);
       } while (!PUBLISHER_PROCESSORS.compareAndSet(parent, oldArray, newArray));
     }
 
     private void removeSelf() {
-      PublisherProcessor[] oldArray;
-      PublisherProcessor[] newArray;
+      PublisherProcessor<?>[] oldArray;
+      PublisherProcessor<?>[] newArray;
       do {
         oldArray = parent.publisherProcessors;
         newArray = ArrayUtil.remove(oldArray, this);
       } while (!PUBLISHER_PROCESSORS.compareAndSet(parent, oldArray, newArray));
     }
+
+    /**
+     * Inserts processor after all processors with the same or higher priority, so that array stays
+     * sorted by priority.
+     */
+    private static PublisherProcessor<?>[] insert(
+        PublisherProcessor<?>[] oldArray, PublisherProcessor<?> processor) {
+      int index = 0;
+      while (index < oldArray.length
+          && oldArray[index].priority.compareTo(processor.priority) <= 0) {
+        index++;
+      }
+      PublisherProcessor<?>[] newArray = new PublisherProcessor<?>[oldArray.length + 1];
+      System.arraycopy(oldArray, 0, newArray, 0, index);
+      newArray[index] = processor;
+      System.arraycopy(oldArray, index, newArray, index + 1, oldArray.length - index);
+      return newArray;
+    }
+  }
+
+  /**
+   * Timeout of a message (or a batch) which aeron failed to publish. Instead of checking elapsed
+   * time on every failed attempt, timer is armed on event loop at first failure (and re-armed if
+   * failure reason changes, deadline is still counted from the first failure), and cancelled on
+   * successful publishing. Publication gets disposed if timer expires.
+   */
+  private static class PublishTimeout implements Runnable {
+
+    private final MessagePublication parent;
+
+    private long start;
+    private long result;
+    private long timerId = DeadlineTimerWheel.NULL_TIMER;
+
+    PublishTimeout(MessagePublication parent) {
+      this.parent = parent;
+    }
+
+    void onFailure(long r) {
+      if (timerId != DeadlineTimerWheel.NULL_TIMER) {
+        if (result == r) {
+          return;
+        }
+        parent.eventLoop.cancelTimer(timerId);
+      } else if (result == 0) {
+        start = parent.eventLoop.nanoTime();
+      }
+      result = r;
+      timerId = parent.eventLoop.scheduleTimer(start + timeout(r).toNanos(), this);
+    }
+
+    /**
+     * Cancels armed timer on event loop being left, keeping time of the first failure, so that
+     * deadline doesn't move on {@link #attach()}.
+     */
+    void detach() {
+      if (timerId != DeadlineTimerWheel.NULL_TIMER) {
+        parent.eventLoop.cancelTimer(timerId);
+        timerId = DeadlineTimerWheel.NULL_TIMER;
+      }
+    }
+
+    /** Re-arms timer cancelled by {@link #detach()} on new event loop. */
+    void attach() {
+      if (result != 0 && timerId == DeadlineTimerWheel.NULL_TIMER && !parent.isDisposed()) {
+        timerId = parent.eventLoop.scheduleTimer(start + timeout(result).toNanos(), this);
+      }
+    }
+
+    void reset() {
+      if (timerId != DeadlineTimerWheel.NULL_TIMER) {
+        parent.eventLoop.cancelTimer(timerId);
+        timerId = DeadlineTimerWheel.NULL_TIMER;
+      }
+      result = 0;
+    }
+
+    @Override
+    public void run() {
+      timerId = DeadlineTimerWheel.NULL_TIMER;
+      parent.onPublishTimeout(result, timeout(result));
+    }
+
+    private Duration timeout(long r) {
+      if (r == Publication.NOT_CONNECTED) {
+        return parent.connectTimeout;
+      }
+      if (r == Publication.BACK_PRESSURED) {
+        return parent.backpressureTimeout;
+      }
+      return parent.adminActionTimeout;
+    }
   }
 }
@@ -7,11 +7,11 @@
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.MonoProcessor;
 
-class MessageSubscription implements OnDisposable, AeronResource {
+class MessageSubscription implements OnDisposable, MigratableResource {
 
   private static final Logger logger = LoggerFactory.getLogger(MessageSubscription.class);
 
-  private final AeronEventLoop eventLoop;
+  private volatile AeronEventLoop eventLoop;
   private final Subscription subscription; // aeron subscription
 
   private final MonoProcessor<Void> onDispose = MonoProcessor.create();
@@ -27,6 +27,22 @@ class MessageSubscription implements OnDisposable, AeronResource {
     this.eventLoop = eventLoop;
   }
 
+  @Override
+  public AeronEventLoop eventLoop() {
+    return eventLoop;
+  }
+
+  @Override
+  public void onDetach(AeronEventLoop eventLoop) {
+    // subscription isn't polled itself, its images are polled by inbounds
+    this.eventLoop = eventLoop;
+  }
+
+  @Override
+  public void onAttach() {
+    // no-op
+  }
+
   @Override
   public void close() {
     if (!eventLoop.inEventLoop()) {
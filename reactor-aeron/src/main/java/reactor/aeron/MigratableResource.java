@@ -0,0 +1,36 @@
+package reactor.aeron;
+
+/**
+ * Aeron resource which can be handed over from one event loop to another, see {@link
+ * AeronEventLoop#migrate(java.util.List, AeronEventLoop)}. Between {@link
+ * #onDetach(AeronEventLoop)} and {@link #onAttach()} resource is not served by any event loop: its
+ * messages wait in aeron term buffers and in upstream queues, nothing gets dropped.
+ */
+interface MigratableResource extends AeronResource {
+
+  /**
+   * Returns event loop which owns this resource, or which resource is being migrated to.
+   *
+   * @return owning event loop
+   */
+  AeronEventLoop eventLoop();
+
+  /**
+   * Called on thread of event loop being left, once resource is removed from it. Resource must
+   * release everything bound to that event loop (e.g. timers) and switch to new event loop, so that
+   * following commands (e.g. dispose) go there.
+   *
+   * @param eventLoop new owning event loop
+   */
+  void onDetach(AeronEventLoop eventLoop);
+
+  /** Called on thread of new event loop before resource gets registered in it. */
+  void onAttach();
+
+  /**
+   * Returns {@code true} if resource has been closed, e.g. while it was migrated.
+   *
+   * @return {@code true} if resource has been closed
+   */
+  boolean isDisposed();
+}
@@ -0,0 +1,292 @@
+package reactor.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.ToIntFunction;
+import org.agrona.BitUtil;
+import org.agrona.BufferUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.MessageHandler;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.agrona.concurrent.ringbuffer.OneToOneRingBuffer;
+import org.agrona.concurrent.ringbuffer.RingBufferDescriptor;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Destination subscriber of aeron inbound which dispatches messages to rails of {@link
+ * AeronInbound#receiveParallel(int, ToIntFunction, Scheduler)}. Works as {@link ReceiveGate} on
+ * event loop thread: copies every message into off-heap ring buffer of the rail chosen by key of
+ * the message, or leaves message in aeron term buffer if that ring buffer is full. Every rail
+ * drains its ring buffer on its own scheduler worker, so messages with the same key are emitted in
+ * order of receiving. Messages longer than max message length are handed off to rail as heap
+ * copies, ring buffer only keeps their place in order.
+ */
+final class ParallelDispatcher implements CoreSubscriber<DirectBuffer>, ReceiveGate {
+
+  private static final int MSG_TYPE_ID = 1;
+
+  // marks place of message handed off as heap copy, see Rail#oversizedMessages
+  private static final int OVERSIZED_MSG_TYPE_ID = 2;
+
+  // max number of messages read from ring buffer at once, to keep rail responsive to cancel
+  private static final int DRAIN_LIMIT = 256;
+
+  private static final AtomicIntegerFieldUpdater<ParallelDispatcher> ACTIVE_RAILS =
+      AtomicIntegerFieldUpdater.newUpdater(ParallelDispatcher.class, "activeRails");
+
+  private final Rail[] rails;
+  private final ToIntFunction<? super DirectBuffer> keyExtractor;
+  private final int maxMessageLength;
+  private final Runnable onCancel;
+  private final UnsafeBuffer keyFlyweight = new UnsafeBuffer(0, 0);
+
+  private volatile int activeRails;
+
+  /**
+   * Constructor.
+   *
+   * @param subscribers rail subscribers
+   * @param keyExtractor function computing key of message
+   * @param scheduler scheduler which provides worker for every rail
+   * @param bufferLength length of ring buffer of every rail, rounded up to power of two
+   * @param maxMessageLength max length of message copied into ring buffer, capped by {@link
+   *     OneToOneRingBuffer#maxMsgLength()}
+   * @param onCancel action cancelling aeron inbound once all rails are cancelled
+   */
+  ParallelDispatcher(
+      CoreSubscriber<? super DirectBuffer>[] subscribers,
+      ToIntFunction<? super DirectBuffer> keyExtractor,
+      Scheduler scheduler,
+      int bufferLength,
+      int maxMessageLength,
+      Runnable onCancel) {
+    this.keyExtractor = keyExtractor;
+    this.onCancel = onCancel;
+    this.rails = new Rail[subscribers.length];
+    int capacity = BitUtil.findNextPositivePowerOfTwo(bufferLength);
+    for (int i = 0; i < subscribers.length; i++) {
+      rails[i] = new Rail(this, subscribers[i], scheduler.createWorker(), capacity);
+    }
+    this.maxMessageLength =
+        rails.length > 0
+            ? Math.min(maxMessageLength, rails[0].ringBuffer.maxMsgLength())
+            : maxMessageLength;
+    this.activeRails = rails.length;
+  }
+
+  /** Passes rail subscriptions to rail subscribers. */
+  void subscribeRails() {
+    for (Rail rail : rails) {
+      rail.actual.onSubscribe(rail);
+    }
+  }
+
+  @Override
+  public Action onMessage(DirectBuffer buffer, int offset, int length) {
+    keyFlyweight.wrap(buffer, offset, length);
+    Rail rail = rails[Math.floorMod(keyExtractor.applyAsInt(keyFlyweight), rails.length)];
+    if (rail.cancelled) {
+      // nobody to emit message to
+      return Action.CONTINUE;
+    }
+    if (length > maxMessageLength) {
+      return handOffOversized(rail, buffer, offset, length);
+    }
+    if (!rail.ringBuffer.write(MSG_TYPE_ID, buffer, offset, length)) {
+      // rail is behind, leave message in aeron term buffer
+      return Action.ABORT;
+    }
+    rail.schedule();
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Hands off copy of message which is too long for ring buffer: copy is queued first, then empty
+   * record is written into ring buffer to keep its place among other messages of the rail. If ring
+   * buffer is full, message stays in aeron term buffer and comes again on the next poll, while its
+   * copy stays queued.
+   */
+  private Action handOffOversized(Rail rail, DirectBuffer buffer, int offset, int length) {
+    if (!rail.oversizedQueued) {
+      UnsafeBuffer copy = new UnsafeBuffer(new byte[length]);
+      copy.putBytes(0, buffer, offset, length);
+      rail.oversizedMessages.offer(copy);
+      rail.oversizedQueued = true;
+    }
+    if (!rail.ringBuffer.write(OVERSIZED_MSG_TYPE_ID, buffer, offset, 0)) {
+      return Action.ABORT;
+    }
+    rail.oversizedQueued = false;
+    rail.schedule();
+    return Action.CONTINUE;
+  }
+
+  @Override
+  public void onSubscribe(Subscription s) {
+    // no-op
+  }
+
+  @Override
+  public void onNext(DirectBuffer buffer) {
+    // no-op, message has been dispatched in onMessage()
+  }
+
+  @Override
+  public void onError(Throwable t) {
+    // no-op
+  }
+
+  @Override
+  public void onComplete() {
+    for (Rail rail : rails) {
+      rail.done = true;
+      rail.schedule();
+    }
+  }
+
+  private void onRailCancelled() {
+    if (ACTIVE_RAILS.decrementAndGet(this) == 0) {
+      onCancel.run();
+    }
+  }
+
+  private static final class Rail implements Subscription, Runnable, MessageHandler {
+
+    private static final AtomicIntegerFieldUpdater<Rail> WIP =
+        AtomicIntegerFieldUpdater.newUpdater(Rail.class, "wip");
+
+    private static final AtomicLongFieldUpdater<Rail> REQUESTED =
+        AtomicLongFieldUpdater.newUpdater(Rail.class, "requested");
+
+    private final ParallelDispatcher parent;
+    private final CoreSubscriber<? super DirectBuffer> actual;
+    private final Scheduler.Worker worker;
+    private final OneToOneRingBuffer ringBuffer;
+    private final UnsafeBuffer flyweight = new UnsafeBuffer(0, 0);
+    // copies of messages exceeding max message length, in order of their ring buffer records
+    private final Queue<DirectBuffer> oversizedMessages = Queues.<DirectBuffer>unbounded().get();
+    // copy of message at the head of aeron term buffer is queued, written by event loop thread
+    private boolean oversizedQueued;
+
+    private volatile int wip;
+    private volatile long requested;
+    private volatile boolean done;
+    private volatile boolean cancelled;
+    private long produced;
+    private boolean failed;
+
+    private Rail(
+        ParallelDispatcher parent,
+        CoreSubscriber<? super DirectBuffer> actual,
+        Scheduler.Worker worker,
+        int capacity) {
+      this.parent = parent;
+      this.actual = actual;
+      this.worker = worker;
+      this.ringBuffer =
+          new OneToOneRingBuffer(
+              new UnsafeBuffer(
+                  BufferUtil.allocateDirectAligned(
+                      capacity + RingBufferDescriptor.TRAILER_LENGTH,
+                      BitUtil.CACHE_LINE_LENGTH)));
+    }
+
+    private void schedule() {
+      // worker of cancelled rail is disposed and rejects tasks
+      if (!cancelled && WIP.getAndIncrement(this) == 0) {
+        try {
+          worker.schedule(this);
+        } catch (RejectedExecutionException ex) {
+          // rail got cancelled concurrently
+        }
+      }
+    }
+
+    @Override
+    public void request(long n) {
+      if (Operators.validate(n)) {
+        Operators.addCap(REQUESTED, this, n);
+        schedule();
+      }
+    }
+
+    @Override
+    public void cancel() {
+      if (!cancelled) {
+        cancelled = true;
+        worker.dispose();
+        parent.onRailCancelled();
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      for (; ; ) {
+        if (cancelled) {
+          return;
+        }
+        boolean done = this.done;
+        int read = 0;
+        long r = requested;
+        while (produced < r && !failed) {
+          int n = ringBuffer.read(this, (int) Math.min(r - produced, DRAIN_LIMIT));
+          if (n == 0) {
+            break;
+          }
+          read += n;
+          if (cancelled) {
+            return;
+          }
+        }
+        if (failed) {
+          return;
+        }
+        if (read > 0 && r != Long.MAX_VALUE) {
+          Operators.produced(REQUESTED, this, produced);
+          produced = 0;
+          continue;
+        }
+        if (done && ringBuffer.size() == 0) {
+          worker.dispose();
+          actual.onComplete();
+          return;
+        }
+        missed = WIP.addAndGet(this, -missed);
+        if (missed == 0) {
+          return;
+        }
+      }
+    }
+
+    @Override
+    public void onMessage(int msgTypeId, MutableDirectBuffer buffer, int index, int length) {
+      if (failed || cancelled) {
+        return;
+      }
+      produced++;
+      DirectBuffer message;
+      if (msgTypeId == OVERSIZED_MSG_TYPE_ID) {
+        message = oversizedMessages.poll();
+      } else {
+        flyweight.wrap(buffer, index, length);
+        message = flyweight;
+      }
+      try {
+        actual.onNext(message);
+      } catch (Throwable th) {
+        failed = true;
+        cancel();
+        actual.onError(Operators.onOperatorError(th, actual.currentContext()));
+      }
+    }
+  }
+}
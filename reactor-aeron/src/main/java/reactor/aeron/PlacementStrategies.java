@@ -0,0 +1,65 @@
+package reactor.aeron;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Load-aware implementations of {@link PlacementStrategy}. */
+final class PlacementStrategies {
+
+  private PlacementStrategies() {
+    // Do not instantiate
+  }
+
+  static final class LeastConnections implements PlacementStrategy {
+
+    private final AtomicInteger idx = new AtomicInteger();
+
+    @Override
+    public int select(List<? extends WorkerLoad> workers, String identity) {
+      int n = workers.size();
+      int start = Math.abs(idx.getAndIncrement() % n);
+      int result = start;
+      int min = Integer.MAX_VALUE;
+      for (int i = 0; i < n; i++) {
+        int index = (start + i) % n;
+        int connections = workers.get(index).connectionCount();
+        if (connections < min) {
+          min = connections;
+          result = index;
+        }
+      }
+      return result;
+    }
+  }
+
+  static final class LeastBusy implements PlacementStrategy {
+
+    private final double tolerance;
+    private final AtomicInteger idx = new AtomicInteger();
+
+    LeastBusy(double tolerance) {
+      this.tolerance = tolerance;
+    }
+
+    @Override
+    public int select(List<? extends WorkerLoad> workers, String identity) {
+      int n = workers.size();
+      double minBusyRate = Double.MAX_VALUE;
+      for (int i = 0; i < n; i++) {
+        minBusyRate = Math.min(minBusyRate, workers.get(i).busyRate());
+      }
+      int start = Math.abs(idx.getAndIncrement() % n);
+      int result = start;
+      int min = Integer.MAX_VALUE;
+      for (int i = 0; i < n; i++) {
+        int index = (start + i) % n;
+        WorkerLoad worker = workers.get(index);
+        if (worker.busyRate() <= minBusyRate + tolerance && worker.connectionCount() < min) {
+          min = worker.connectionCount();
+          result = index;
+        }
+      }
+      return result;
+    }
+  }
+}
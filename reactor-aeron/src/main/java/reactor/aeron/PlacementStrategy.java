@@ -0,0 +1,68 @@
+package reactor.aeron;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strategy which picks event loop worker for new connection (see {@link
+ * AeronResources#placementStrategy(PlacementStrategy)}). Called concurrently by client connectors
+ * and server handlers, hence implementations must be thread safe.
+ */
+@FunctionalInterface
+public interface PlacementStrategy {
+
+  /**
+   * Selects worker for new connection.
+   *
+   * @param workers loads of workers of event loop group, in order of worker id
+   * @param identity identity of remote side: source identity of aeron image ({@code
+   *     "address:port"}) on server side, server endpoint on client side
+   * @return index of selected worker in {@code workers}
+   */
+  int select(List<? extends WorkerLoad> workers, String identity);
+
+  /**
+   * Returns strategy which assigns workers in turn, regardless of their load. Default one.
+   *
+   * @return round-robin strategy
+   */
+  static PlacementStrategy roundRobin() {
+    AtomicInteger idx = new AtomicInteger();
+    return (workers, identity) -> Math.abs(idx.getAndIncrement() % workers.size());
+  }
+
+  /**
+   * Returns strategy which assigns worker serving the fewest connections. Ties are resolved in
+   * turn, so that burst of connections made before their registration is reflected in counts gets
+   * spread evenly.
+   *
+   * @return least-connections strategy
+   */
+  static PlacementStrategy leastConnections() {
+    return new PlacementStrategies.LeastConnections();
+  }
+
+  /**
+   * Returns strategy which assigns the least busy worker (see {@link WorkerLoad#busyRate()}).
+   * Busy rates are reported about once a second, so workers whose busy rate is within {@code
+   * tolerance} of the least busy one are treated as equally loaded and chosen among by number of
+   * connections, which keeps bursts of connections from piling on a single worker.
+   *
+   * @param tolerance max difference of busy rates treated as equal load, e.g. {@code 0.05}
+   * @return least-busy strategy
+   */
+  static PlacementStrategy leastBusy(double tolerance) {
+    return new PlacementStrategies.LeastBusy(tolerance);
+  }
+
+  /**
+   * Returns strategy which assigns worker by hash of remote identity, so that connections from
+   * the same remote side always land on the same worker.
+   *
+   * @return sticky hash strategy
+   */
+  static PlacementStrategy stickyHash() {
+    return (workers, identity) ->
+        identity != null ? Math.floorMod(identity.hashCode(), workers.size()) : 0;
+  }
+}
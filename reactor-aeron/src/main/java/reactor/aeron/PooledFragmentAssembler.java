@@ -0,0 +1,132 @@
+package reactor.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler;
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.Header;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reassembles fragmented messages of single aeron image, like {@link
+ * io.aeron.ImageControlledFragmentAssembler} does, but into buffer borrowed from {@link
+ * ReassemblyBufferPool} only while message is being reassembled. If memory budget of the pool is
+ * exhausted at the beginning of message, fragment is left in term buffer ({@link Action#ABORT})
+ * and gets redelivered on next poll. If it is exhausted in the middle of message, partial message
+ * is dropped and its buffer is released: waiting for budget while holding buffer would let images
+ * stuck mid-reassembly exhaust the budget and block each other forever. Messages longer than max
+ * message length of the pool are dropped as well.
+ */
+final class PooledFragmentAssembler implements ControlledFragmentHandler {
+
+  private static final Logger logger = LoggerFactory.getLogger(PooledFragmentAssembler.class);
+
+  private final ControlledFragmentHandler delegate;
+  private final ReassemblyBufferPool pool;
+
+  private UnsafeBuffer buffer;
+  private int limit;
+  private boolean dropping;
+
+  /**
+   * Constructor.
+   *
+   * @param delegate handler of reassembled messages
+   * @param pool pool of reassembly buffers
+   */
+  PooledFragmentAssembler(ControlledFragmentHandler delegate, ReassemblyBufferPool pool) {
+    this.delegate = delegate;
+    this.pool = pool;
+  }
+
+  @Override
+  public Action onFragment(DirectBuffer buffer, int offset, int length, Header header) {
+    byte flags = header.flags();
+
+    if ((flags & FrameDescriptor.UNFRAGMENTED) == FrameDescriptor.UNFRAGMENTED) {
+      return delegate.onFragment(buffer, offset, length, header);
+    }
+
+    if ((flags & FrameDescriptor.BEGIN_FRAG_FLAG) == FrameDescriptor.BEGIN_FRAG_FLAG) {
+      // previous message (if any) was never completed
+      releaseBuffer();
+      dropping = false;
+      UnsafeBuffer newBuffer = pool.acquire(length);
+      if (newBuffer == null) {
+        return Action.ABORT;
+      }
+      this.buffer = newBuffer;
+      this.buffer.putBytes(0, buffer, offset, length);
+      this.limit = length;
+      return Action.CONTINUE;
+    }
+
+    boolean end = (flags & FrameDescriptor.END_FRAG_FLAG) == FrameDescriptor.END_FRAG_FLAG;
+
+    if (dropping) {
+      dropping = !end;
+      return Action.CONTINUE;
+    }
+
+    if (this.buffer == null) {
+      // beginning of message was missed
+      return Action.CONTINUE;
+    }
+
+    int newLimit = limit + length;
+    if (newLimit > pool.maxMessageLength()) {
+      logger.warn(
+          "Dropped message exceeding max length {}, session id {}",
+          pool.maxMessageLength(),
+          Integer.toHexString(header.sessionId()));
+      pool.countDroppedMessage();
+      releaseBuffer();
+      dropping = !end;
+      return Action.CONTINUE;
+    }
+
+    if (newLimit > this.buffer.capacity()) {
+      UnsafeBuffer newBuffer = pool.grow(this.buffer, limit, newLimit);
+      if (newBuffer == null) {
+        logger.warn(
+            "Dropped partial message, reassembly memory budget {} is exhausted, session id {}",
+            pool.memoryBudget(),
+            Integer.toHexString(header.sessionId()));
+        pool.countDroppedMessage();
+        releaseBuffer();
+        dropping = !end;
+        return Action.CONTINUE;
+      }
+      this.buffer = newBuffer;
+    }
+
+    this.buffer.putBytes(limit, buffer, offset, length);
+
+    if (!end) {
+      limit = newLimit;
+      return Action.CONTINUE;
+    }
+
+    Action action = delegate.onFragment(this.buffer, 0, newLimit, header);
+    if (action != Action.ABORT) {
+      // otherwise end fragment gets redelivered and appended again
+      releaseBuffer();
+    }
+    return action;
+  }
+
+  /** Returns borrowed buffer (if any) to the pool. Called when image is no longer polled. */
+  void close() {
+    releaseBuffer();
+    dropping = false;
+  }
+
+  private void releaseBuffer() {
+    if (buffer != null) {
+      pool.release(buffer);
+      buffer = null;
+      limit = 0;
+    }
+  }
+}
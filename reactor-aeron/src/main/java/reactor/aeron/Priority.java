@@ -0,0 +1,35 @@
+package reactor.aeron;
+
+/**
+ * Priority of a {@code send()} stream relative to other streams sharing the same connection. On
+ * every event loop tick streams are served in order of priority (round-robin within the same
+ * priority), each stream publishes up to {@link AeronOptions#outboundQuota()} messages scaled by
+ * weight of its priority.
+ */
+public enum Priority {
+
+  /** Served first; suited for control messages which must not queue behind bulk data. */
+  HIGH(4),
+
+  /** Default priority. */
+  NORMAL(2),
+
+  /** Served last; suited for bulk data. */
+  LOW(1);
+
+  private final int weight;
+
+  Priority(int weight) {
+    this.weight = weight;
+  }
+
+  /**
+   * Returns per-tick quota of messages for a stream with this priority.
+   *
+   * @param quota per-tick quota of messages for {@link #NORMAL} priority
+   * @return per-tick quota of messages, at least {@code 1}
+   */
+  int quota(int quota) {
+    return Math.max(1, quota * weight / NORMAL.weight);
+  }
+}
@@ -0,0 +1,181 @@
+package reactor.aeron;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.agrona.BitUtil;
+import org.agrona.concurrent.ManyToManyConcurrentArrayQueue;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Pool of buffers for reassembling fragmented messages, shared by all inbounds of {@link
+ * AeronResources}. Buffer is borrowed only while message is being reassembled. Overall capacity of
+ * buffers (both borrowed and pooled) is bounded by memory budget, at most half of the budget is
+ * kept by idle pooled buffers. Thread-safe.
+ */
+final class ReassemblyBufferPool implements ReassemblyBufferPoolMBean {
+
+  private static final int MIN_BUFFER_LENGTH = 4096;
+  private static final int MAX_POOLED_BUFFERS = 1024;
+
+  private final int maxMessageLength;
+  private final long memoryBudget;
+
+  private final Queue<UnsafeBuffer> pooledBuffers =
+      new ManyToManyConcurrentArrayQueue<>(MAX_POOLED_BUFFERS);
+  private final AtomicLong reservedBytes = new AtomicLong();
+  private final AtomicLong pooledBytes = new AtomicLong();
+  private final AtomicInteger borrowedBuffers = new AtomicInteger();
+  private final AtomicLong droppedMessages = new AtomicLong();
+  private final AtomicLong abortedFragments = new AtomicLong();
+
+  /**
+   * Constructor.
+   *
+   * @param maxMessageLength max length of message which can be reassembled
+   * @param memoryBudget max overall capacity of buffers
+   */
+  ReassemblyBufferPool(int maxMessageLength, long memoryBudget) {
+    if (memoryBudget < maxMessageLength) {
+      throw new IllegalArgumentException(
+          "memoryBudget (" + memoryBudget + ") < maxMessageLength (" + maxMessageLength + ")");
+    }
+    this.maxMessageLength = maxMessageLength;
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Borrows buffer of at least given capacity.
+   *
+   * @param length required capacity
+   * @return buffer, or {@code null} if memory budget is exhausted
+   */
+  UnsafeBuffer acquire(int length) {
+    UnsafeBuffer buffer = pooledBuffers.poll();
+    if (buffer != null) {
+      pooledBytes.addAndGet(-buffer.capacity());
+      if (buffer.capacity() >= length) {
+        borrowedBuffers.incrementAndGet();
+        return buffer;
+      }
+      reservedBytes.addAndGet(-buffer.capacity());
+    }
+
+    int capacity = capacityFor(length);
+    if (!tryReserve(capacity)) {
+      abortedFragments.incrementAndGet();
+      return null;
+    }
+    borrowedBuffers.incrementAndGet();
+    return new UnsafeBuffer(new byte[capacity]);
+  }
+
+  /**
+   * Replaces borrowed buffer with bigger one, copying its content.
+   *
+   * @param buffer borrowed buffer
+   * @param limit length of content
+   * @param length required capacity
+   * @return new buffer, or {@code null} if memory budget is exhausted (given buffer stays borrowed)
+   */
+  UnsafeBuffer grow(UnsafeBuffer buffer, int limit, int length) {
+    int capacity = capacityFor(length);
+    if (!tryReserve(capacity - buffer.capacity())) {
+      return null;
+    }
+    UnsafeBuffer result = new UnsafeBuffer(new byte[capacity]);
+    result.putBytes(0, buffer, 0, limit);
+    return result;
+  }
+
+  /**
+   * Returns borrowed buffer to the pool.
+   *
+   * @param buffer borrowed buffer
+   */
+  void release(UnsafeBuffer buffer) {
+    borrowedBuffers.decrementAndGet();
+    int capacity = buffer.capacity();
+    if (pooledBytes.get() + capacity <= memoryBudget >> 1 && pooledBuffers.offer(buffer)) {
+      pooledBytes.addAndGet(capacity);
+    } else {
+      reservedBytes.addAndGet(-capacity);
+    }
+  }
+
+  void countDroppedMessage() {
+    droppedMessages.incrementAndGet();
+  }
+
+  int maxMessageLength() {
+    return maxMessageLength;
+  }
+
+  long memoryBudget() {
+    return memoryBudget;
+  }
+
+  private int capacityFor(int length) {
+    int capacity = Math.max(BitUtil.findNextPositivePowerOfTwo(length), MIN_BUFFER_LENGTH);
+    return Math.min(capacity, maxMessageLength);
+  }
+
+  private boolean tryReserve(int length) {
+    while (true) {
+      long reserved = reservedBytes.get();
+      if (reserved + length > memoryBudget) {
+        // evict idle pooled buffer and try again
+        UnsafeBuffer buffer = pooledBuffers.poll();
+        if (buffer == null) {
+          return false;
+        }
+        pooledBytes.addAndGet(-buffer.capacity());
+        reservedBytes.addAndGet(-buffer.capacity());
+        continue;
+      }
+      if (reservedBytes.compareAndSet(reserved, reserved + length)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public int getMaxMessageLength() {
+    return maxMessageLength;
+  }
+
+  @Override
+  public long getMemoryBudget() {
+    return memoryBudget;
+  }
+
+  @Override
+  public long getReservedBytes() {
+    return reservedBytes.get();
+  }
+
+  @Override
+  public long getPooledBytes() {
+    return pooledBytes.get();
+  }
+
+  @Override
+  public int getBorrowedBuffers() {
+    return borrowedBuffers.get();
+  }
+
+  @Override
+  public int getPooledBuffers() {
+    return pooledBuffers.size();
+  }
+
+  @Override
+  public long getDroppedMessages() {
+    return droppedMessages.get();
+  }
+
+  @Override
+  public long getAbortedFragments() {
+    return abortedFragments.get();
+  }
+}
@@ -0,0 +1,66 @@
+package reactor.aeron;
+
+/**
+ * JMX MBean exposer class for pool of reassembly buffers (see for details {@link
+ * ReassemblyBufferPool}). Contains usage stats of the pool.
+ */
+public interface ReassemblyBufferPoolMBean {
+
+  /**
+   * Returns max length of message which can be reassembled, longer messages are dropped.
+   *
+   * @return max message length
+   */
+  int getMaxMessageLength();
+
+  /**
+   * Returns max overall capacity of reassembly buffers (both borrowed and pooled).
+   *
+   * @return memory budget in bytes
+   */
+  long getMemoryBudget();
+
+  /**
+   * Returns overall capacity of reassembly buffers (both borrowed and pooled).
+   *
+   * @return reserved memory in bytes
+   */
+  long getReservedBytes();
+
+  /**
+   * Returns overall capacity of pooled (not borrowed) reassembly buffers.
+   *
+   * @return pooled memory in bytes
+   */
+  long getPooledBytes();
+
+  /**
+   * Returns number of reassembly buffers borrowed by messages being reassembled.
+   *
+   * @return number of borrowed buffers
+   */
+  int getBorrowedBuffers();
+
+  /**
+   * Returns number of pooled (not borrowed) reassembly buffers.
+   *
+   * @return number of pooled buffers
+   */
+  int getPooledBuffers();
+
+  /**
+   * Returns number of messages dropped because of exceeding max message length or because memory
+   * budget was exhausted in the middle of reassembly.
+   *
+   * @return number of dropped messages
+   */
+  long getDroppedMessages();
+
+  /**
+   * Returns number of times first fragment of message was left in aeron term buffer because memory
+   * budget was exhausted.
+   *
+   * @return number of aborted fragments
+   */
+  long getAbortedFragments();
+}
@@ -0,0 +1,35 @@
+package reactor.aeron;
+
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import org.agrona.DirectBuffer;
+
+/**
+ * Hook consulted on event loop thread for every incoming message before it is emitted by {@link
+ * AeronInbound#receive(ReceiveGate)}. Lets subscriber control polling of aeron image per message,
+ * leaving not consumed data in aeron term buffer instead of Reactor queues.
+ */
+@FunctionalInterface
+public interface ReceiveGate {
+
+  /**
+   * Decides what to do with incoming message.
+   *
+   * <ul>
+   *   <li>{@link Action#ABORT} - message is not emitted and stays in term buffer, polling stops
+   *       and message is offered again on next poll
+   *   <li>{@link Action#BREAK} - message is emitted and polling stops
+   *   <li>{@link Action#COMMIT} - message is emitted and position of image is committed
+   *   <li>{@link Action#CONTINUE} - message is emitted and polling continues
+   * </ul>
+   *
+   * <p>Messages coalesced by sender into single frame (see {@link
+   * AeronOptions#outboundBatching()}) can't be left in term buffer partially, remainder of such
+   * frame is kept by inbound once at least one of its messages got emitted.
+   *
+   * @param buffer buffer containing message
+   * @param offset offset of message in buffer
+   * @param length length of message
+   * @return polling action
+   */
+  Action onMessage(DirectBuffer buffer, int offset, int length);
+}
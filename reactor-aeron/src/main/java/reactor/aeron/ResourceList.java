@@ -0,0 +1,98 @@
+package reactor.aeron;
+
+import java.util.Arrays;
+import org.agrona.collections.Object2IntHashMap;
+
+/**
+ * Array of resources of event loop with O(1) add and remove: every element's index is kept in a
+ * map, removed element is replaced by the last one (so order of elements is not preserved). Not
+ * thread safe, used on event loop thread only.
+ *
+ * @param <T> element type
+ */
+final class ResourceList<T> {
+
+  private static final int MISSING_INDEX = -1;
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final Object2IntHashMap<T> indices = new Object2IntHashMap<>(MISSING_INDEX);
+  private Object[] elements = new Object[INITIAL_CAPACITY];
+  private int size;
+
+  /**
+   * Appends element unless it is present already.
+   *
+   * @param element element
+   * @return {@code true} if element was added
+   */
+  boolean add(T element) {
+    if (indices.containsKey(element)) {
+      return false;
+    }
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, size << 1);
+    }
+    elements[size] = element;
+    indices.put(element, size);
+    size++;
+    return true;
+  }
+
+  /**
+   * Removes element, moving the last element to its place.
+   *
+   * @param element element
+   * @return {@code true} if element was present
+   */
+  boolean remove(T element) {
+    int index = indices.getValue(element);
+    if (index == MISSING_INDEX) {
+      return false;
+    }
+    removeAt(index);
+    return true;
+  }
+
+  /**
+   * Removes element at given index, moving the last element to its place.
+   *
+   * @param index index
+   * @return removed element
+   */
+  T removeAt(int index) {
+    T element = get(index);
+    indices.removeKey(element);
+    int last = --size;
+    if (index != last) {
+      @SuppressWarnings("unchecked")
+      T moved = (T) elements[last];
+      elements[index] = moved;
+      indices.put(moved, index);
+    }
+    elements[last] = null;
+    return element;
+  }
+
+  boolean contains(T element) {
+    return indices.containsKey(element);
+  }
+
+  @SuppressWarnings("unchecked")
+  T get(int index) {
+    return (T) elements[index];
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void clear() {
+    Arrays.fill(elements, 0, size, null);
+    indices.clear();
+    size = 0;
+  }
+}
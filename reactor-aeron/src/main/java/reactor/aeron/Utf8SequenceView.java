@@ -0,0 +1,134 @@
+package reactor.aeron;
+
+import org.agrona.DirectBuffer;
+
+/**
+ * Reusable {@link CharSequence} over UTF-8 encoded message. Decoding fills internal char array
+ * which grows to the longest message seen, so that nothing gets allocated per message. Malformed
+ * input is replaced by {@code U+FFFD}. For ASCII messages {@link org.agrona.AsciiSequenceView}
+ * is cheaper, as it reads chars straight from the buffer.
+ */
+public final class Utf8SequenceView implements CharSequence, Decoder<Utf8SequenceView> {
+
+  private static final char REPLACEMENT = '\uFFFD';
+
+  private char[] chars;
+  private int length;
+
+  /** Constructor. */
+  public Utf8SequenceView() {
+    this(64);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param initialCapacity initial capacity of char array
+   */
+  public Utf8SequenceView(int initialCapacity) {
+    this.chars = new char[initialCapacity];
+  }
+
+  @Override
+  public Utf8SequenceView decode(DirectBuffer buffer, int offset, int length) {
+    // number of chars never exceeds number of bytes
+    if (chars.length < length) {
+      chars = new char[Math.max(length, chars.length << 1)];
+    }
+    char[] chars = this.chars;
+    int n = 0;
+    for (int i = offset, limit = offset + length; i < limit; ) {
+      int b = buffer.getByte(i++);
+      if (b >= 0) {
+        chars[n++] = (char) b;
+      } else if ((b & 0xE0) == 0xC0 && i < limit && isContinuation(buffer.getByte(i))) {
+        chars[n++] = (char) (((b & 0x1F) << 6) | (buffer.getByte(i++) & 0x3F));
+      } else if ((b & 0xF0) == 0xE0
+          && i + 1 < limit
+          && isContinuation(buffer.getByte(i))
+          && isContinuation(buffer.getByte(i + 1))) {
+        chars[n++] =
+            (char)
+                (((b & 0x0F) << 12)
+                    | ((buffer.getByte(i) & 0x3F) << 6)
+                    | (buffer.getByte(i + 1) & 0x3F));
+        i += 2;
+      } else if ((b & 0xF8) == 0xF0
+          && i + 2 < limit
+          && isContinuation(buffer.getByte(i))
+          && isContinuation(buffer.getByte(i + 1))
+          && isContinuation(buffer.getByte(i + 2))) {
+        int codePoint =
+            ((b & 0x07) << 18)
+                | ((buffer.getByte(i) & 0x3F) << 12)
+                | ((buffer.getByte(i + 1) & 0x3F) << 6)
+                | (buffer.getByte(i + 2) & 0x3F);
+        i += 3;
+        if (Character.isSupplementaryCodePoint(codePoint)) {
+          // 4 bytes give 2 chars, still within length
+          chars[n++] = Character.highSurrogate(codePoint);
+          chars[n++] = Character.lowSurrogate(codePoint);
+        } else {
+          chars[n++] = REPLACEMENT;
+        }
+      } else {
+        chars[n++] = REPLACEMENT;
+      }
+    }
+    this.length = n;
+    return this;
+  }
+
+  private static boolean isContinuation(byte b) {
+    return (b & 0xC0) == 0x80;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("index=" + index + " length=" + length);
+    }
+    return chars[index];
+  }
+
+  /**
+   * Returns new {@code String} with chars of {@code [start, end)} range; unlike the view itself it
+   * stays valid after next message is decoded.
+   */
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException(
+          "start=" + start + " end=" + end + " length=" + length);
+    }
+    return new String(chars, start, end - start);
+  }
+
+  /**
+   * Compares content of this view with given chars without allocating.
+   *
+   * @param cs chars to compare with
+   * @return {@code true} if content is equal
+   */
+  public boolean contentEquals(CharSequence cs) {
+    if (cs.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (chars[i] != cs.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return new String(chars, 0, length);
+  }
+}
@@ -1,8 +1,10 @@
 package reactor.aeron;
 
+import java.util.concurrent.TimeUnit;
+
 final class WorkerFlightRecorder implements WorkerMBean {
 
-  private static final int REPORT_INTERVAL = 1000;
+  private static final long REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(1);
 
   private long reportTime;
 
@@ -11,7 +13,7 @@ final class WorkerFlightRecorder implements WorkerMBean {
   private long idleCount;
   private double outboundRate;
   private double inboundRate;
-  private double idleRate;
+  private volatile double idleRate;
 
   long totalTickCount;
   long totalOutboundCount;
@@ -25,16 +27,17 @@ final class WorkerFlightRecorder implements WorkerMBean {
   private long lastTotalIdleCount;
   private long lastTotalWorkCount;
 
-  void start() {
-    reportTime = System.currentTimeMillis() + REPORT_INTERVAL;
+  void start(long currentTime) {
+    reportTime = currentTime + REPORT_INTERVAL;
   }
 
   /**
    * Make reporting if it's time for it. For details see method: {@link #processReporting(long,
    * long, long, long, long)}
+   *
+   * @param currentTime current time in nanoseconds
    */
-  void tryReport() {
-    long currentTime = System.currentTimeMillis();
+  void tryReport(long currentTime) {
     if (currentTime >= reportTime) {
       reportTime = currentTime + REPORT_INTERVAL;
       processReporting(
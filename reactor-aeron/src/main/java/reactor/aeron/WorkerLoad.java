@@ -0,0 +1,31 @@
+package reactor.aeron;
+
+/**
+ * Load of event loop worker, as seen by {@link PlacementStrategy}. Values are updated by worker
+ * thread and read without synchronization, hence they are approximate.
+ */
+public interface WorkerLoad {
+
+  /**
+   * Returns id of worker (its index in event loop group).
+   *
+   * @return worker id
+   */
+  int workerId();
+
+  /**
+   * Returns number of connections (aeron publications) served by worker.
+   *
+   * @return number of connections
+   */
+  int connectionCount();
+
+  /**
+   * Returns share of duty cycles which did some work during last report interval of worker (about
+   * a second), from {@code 0} (idle) to {@code 1} (busy on every cycle). See also {@link
+   * WorkerMBean#getIdleRate()}.
+   *
+   * @return busy rate of worker
+   */
+  double busyRate();
+}
@@ -1,16 +1,38 @@
 package reactor.aeron;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.aeron.DirectBufferVector;
 import io.aeron.driver.Configuration;
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.protocol.DataHeaderFlyweight;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,10 +40,12 @@
 import org.reactivestreams.Subscription;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
 import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.DirectProcessor;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
 import reactor.core.publisher.ReplayProcessor;
 import reactor.core.scheduler.Scheduler;
 import reactor.core.scheduler.Schedulers;
@@ -68,6 +92,1071 @@ public void testClientReceivesDataFromServer() {
         .verify();
   }
 
+  @Test
+  public void testClientReceivesDataFromServerOnPinnedWorkers() {
+    String cpu = CpuAffinityTest.allowedCpu();
+    List<Thread> threads = Collections.synchronizedList(new ArrayList<>());
+    restartResources(
+        r ->
+            r.singleWorker()
+                .workerThreadFactory(
+                    runnable -> {
+                      Thread thread = new Thread(runnable);
+                      threads.add(thread);
+                      return thread;
+                    })
+                .workerCpuAffinity(cpu)
+                .mediaCpuAffinity(cpu, cpu, cpu));
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.just("hello1", "2", "3"))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    StepVerifier.create(connection.inbound().receive().asString())
+        .expectNext("hello1", "2", "3")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    assertEquals(1, threads.size());
+    assertTrue(threads.get(0).getName().startsWith("reactor-aeron-"));
+  }
+
+  @Test
+  public void testClientReceivesDataFromServerWrittenIntoClaimedBuffer() {
+    DirectBufferWriteHandler<Integer> bufferHandler =
+        new DirectBufferWriteHandler<Integer>() {
+          @Override
+          public int estimateLength(Integer buffer) {
+            return Integer.BYTES;
+          }
+
+          @Override
+          public DirectBuffer map(Integer buffer, int length) {
+            throw new UnsupportedOperationException("map");
+          }
+
+          @Override
+          public void dispose(Integer buffer) {
+            // no-op
+          }
+
+          @Override
+          public void write(
+              Integer buffer, MutableDirectBuffer destination, int offset, int length) {
+            destination.putInt(offset, buffer);
+          }
+        };
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(Flux.range(1, 3), bufferHandler)
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    StepVerifier.create(connection.inbound().receive().map(buffer -> buffer.getInt(0)))
+        .expectNext(1, 2, 3)
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testClientReceivesGatheredDataFromServer() {
+    UnsafeBuffer header = new UnsafeBuffer("header:".getBytes(StandardCharsets.UTF_8));
+    UnsafeBuffer body = new UnsafeBuffer("body".getBytes(StandardCharsets.UTF_8));
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendVectors(
+                    Flux.range(0, 3)
+                        .map(
+                            i ->
+                                new DirectBufferVector[] {
+                                  new DirectBufferVector(header, 0, header.capacity()),
+                                  new DirectBufferVector(body, 0, body.capacity() - i)
+                                }))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    StepVerifier.create(connection.inbound().receive().asString())
+        .expectNext("header:body", "header:bod", "header:bo")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify();
+  }
+
+  @Test
+  public void testClientReceivesBatchedDataFromServer() {
+    int count = 10_000;
+    char[] chars = new char[Configuration.MTU_LENGTH * 2];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.outboundBatching(true))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(
+                        Flux.range(0, count).map(i -> i % 1000 == 0 ? i + str : String.valueOf(i)))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receive()
+                .asString()
+                .limitRate(7)
+                .map(s -> Integer.parseInt(s.endsWith("a") ? s.substring(0, s.indexOf('a')) : s)))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientReceivesUtf8StringsFromServer() {
+    char[] chars = new char[Configuration.MTU_LENGTH * 2];
+    Arrays.fill(chars, '\u20ac');
+    String longStr = new String(chars);
+    String str = "ascii, \u00e9\u00e8, \u20ac, \ud834\udd1e, lone \ud834 surrogate";
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendChars(Flux.just(str, new StringBuilder(str).reverse(), longStr))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(connection.inbound().receive().asString())
+        .expectNext(new String(str.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8))
+        .expectNext(
+            new String(
+                new StringBuilder(str).reverse().toString().getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8))
+        .expectNext(longStr)
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientDecodesUtf8CharSequencesFromServer() {
+    char[] chars = new char[Configuration.MTU_LENGTH * 2];
+    Arrays.fill(chars, '\u20ac');
+    String longStr = new String(chars);
+    String str = "ascii, \u00e9\u00e8, \u20ac, \ud834\udd1e, lone \ud834 surrogate";
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.just(str, longStr, "ascii"))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(
+            connection.inbound().receiveFlyweight().asCharSequence().map(CharSequence::toString))
+        .expectNext(new String(str.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8))
+        .expectNext(longStr)
+        .expectNext("ascii")
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientDecodesFieldsFromServerWithFlyweight() {
+    int count = 1000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(
+                    Flux.range(0, count)
+                        .map(
+                            i -> {
+                              UnsafeBuffer buffer = new UnsafeBuffer(new byte[12]);
+                              buffer.putLong(0, i * 10L);
+                              buffer.putInt(8, i);
+                              return buffer;
+                            }))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receiveFlyweight()
+                .decode(QuoteFlyweight::new)
+                .map(quote -> quote.price() == quote.id() * 10L ? quote.id() : -1))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientReceivesDataFromServerIntoFlyweight() {
+    int count = 1000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.range(0, count).map(String::valueOf))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    Set<DirectBuffer> buffers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receiveFlyweight()
+                .doOnNext(buffers::add)
+                .map(buffer -> buffer.getStringWithoutLengthAscii(0, buffer.capacity()))
+                .map(Integer::parseInt)
+                .limitRate(7))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    assertEquals(1, buffers.size());
+  }
+
+  @Test
+  public void testClientReceivesDataFromServerThroughGate() {
+    int count = 1000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.range(0, count).map(String::valueOf))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    AtomicBoolean open = new AtomicBoolean();
+
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receive((buffer, offset, length) -> open.get() ? Action.CONTINUE : Action.ABORT)
+                .asString()
+                .map(Integer::parseInt))
+        .expectSubscription()
+        .expectNoEvent(Duration.ofMillis(500))
+        .then(() -> open.set(true))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientReceivesBatchesFromServer() {
+    int count = 10_000;
+    char[] chars = new char[Configuration.MTU_LENGTH * 2];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.outboundBatching(true))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(
+                        Flux.range(0, count).map(i -> i % 1000 == 0 ? i + str : String.valueOf(i)))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receiveBatch()
+                .map(
+                    batch -> {
+                      List<String> list = new ArrayList<>(batch.size());
+                      for (int i = 0; i < batch.size(); i++) {
+                        list.add(
+                            batch
+                                .buffer(i)
+                                .getStringWithoutLengthUtf8(batch.offset(i), batch.length(i)));
+                      }
+                      return list;
+                    })
+                .flatMapIterable(list -> list)
+                .map(s -> Integer.parseInt(s.endsWith("a") ? s.substring(0, s.indexOf('a')) : s)))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testTwoSubscribersReceiveDataFromServerMulticast() {
+    int count = 10_000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(
+                    Flux.range(0, count)
+                        .map(String::valueOf)
+                        // let both subscribers subscribe before data arrives
+                        .delaySubscription(connection.inbound().receive().take(1)))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    DirectBufferFlux multicast = connection.inbound().receiveMulticast();
+
+    StepVerifier.create(
+            Flux.zip(
+                multicast.asString().map(Integer::parseInt).limitRate(8),
+                multicast.asString().map(Integer::parseInt).limitRate(256),
+                (a, b) -> a.equals(b) ? a : -1))
+        .then(() -> connection.outbound().sendString(Mono.just("ready")).then().subscribe())
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testServerIsNotStalledOnceAllMulticastSubscribersCancel() {
+    int count = 10_000;
+    char[] chars = new char[1024];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    MonoProcessor<Void> sendResult = MonoProcessor.create();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.backpressureTimeout(Duration.ofMillis(500)))
+        .handle(
+            connection -> {
+              connection
+                  .outbound()
+                  .sendString(Flux.range(0, count).map(i -> str))
+                  .then()
+                  .subscribe(sendResult);
+              return connection.onDispose();
+            })
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection = createConnection();
+    DirectBufferFlux multicast = connection.inbound().receiveMulticast();
+
+    StepVerifier.create(
+            Flux.merge(multicast.asString().take(10), multicast.asString().take(20)).count())
+        .expectNext(30L)
+        .verifyComplete();
+
+    // all subscribers are gone, the rest of messages is drained and dropped
+    StepVerifier.create(sendResult).expectComplete().verify(TIMEOUT);
+  }
+
+  @Test
+  public void testClientReceivesDataFromServerInParallelOrderedByKey() {
+    int count = 10_000;
+    int parallelism = 4;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.range(0, count).map(String::valueOf))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    Scheduler scheduler = Schedulers.newParallel("rail", parallelism);
+
+    try {
+      List<Integer> result =
+          connection
+              .inbound()
+              .receiveParallel(
+                  parallelism,
+                  buffer ->
+                      Integer.parseInt(buffer.getStringWithoutLengthAscii(0, buffer.capacity()))
+                          % parallelism,
+                  scheduler)
+              .map(
+                  buffer ->
+                      Integer.parseInt(buffer.getStringWithoutLengthAscii(0, buffer.capacity())))
+              .sequential()
+              .take(count)
+              .collectList()
+              .block(TIMEOUT);
+
+      assertEquals(count, result.size());
+      for (int key = 0; key < parallelism; key++) {
+        int k = key;
+        List<Integer> actual = new ArrayList<>();
+        result.stream().filter(i -> i % parallelism == k).forEach(actual::add);
+        List<Integer> expected = new ArrayList<>();
+        IntStream.range(0, count).filter(i -> i % parallelism == k).forEach(expected::add);
+        assertEquals(expected, actual);
+      }
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+  @Test
+  public void testClientReceivesOversizedDataFromServerInParallelOrderedByKey() {
+    // max length of message copied into ring buffer is 4096 / 8 = 512
+    restartResources(r -> r.singleWorker().parallelReceiveBufferLength(4096));
+
+    int count = 1_000;
+    int parallelism = 4;
+    char[] chars = new char[2000];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.range(0, count).map(i -> i % 10 == 0 ? i + ":" + str : i + ":"))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    Scheduler scheduler = Schedulers.newParallel("rail", parallelism);
+    Function<DirectBuffer, Integer> parseKey =
+        buffer -> {
+          String message = buffer.getStringWithoutLengthAscii(0, buffer.capacity());
+          return Integer.parseInt(message.substring(0, message.indexOf(':')));
+        };
+
+    try {
+      List<String> result =
+          connection
+              .inbound()
+              .receiveParallel(
+                  parallelism, buffer -> parseKey.apply(buffer) % parallelism, scheduler)
+              .map(buffer -> buffer.getStringWithoutLengthAscii(0, buffer.capacity()))
+              .sequential()
+              .take(count)
+              .collectList()
+              .block(TIMEOUT);
+
+      assertEquals(count, result.size());
+      for (int key = 0; key < parallelism; key++) {
+        int k = key;
+        List<String> actual = new ArrayList<>();
+        result.stream()
+            .filter(s -> Integer.parseInt(s.substring(0, s.indexOf(':'))) % parallelism == k)
+            .forEach(actual::add);
+        List<String> expected = new ArrayList<>();
+        IntStream.range(0, count)
+            .filter(i -> i % parallelism == k)
+            .mapToObj(i -> i % 10 == 0 ? i + ":" + str : i + ":")
+            .forEach(expected::add);
+        assertEquals(expected, actual);
+      }
+    } finally {
+      scheduler.dispose();
+    }
+  }
+
+  @Test
+  public void testClientReceivesDataFromServerWithDirectHandler() {
+    int count = 10_000;
+    char[] chars = new char[Configuration.MTU_LENGTH * 2];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.outboundBatching(true))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(
+                        Flux.range(0, count).map(i -> i % 1000 == 0 ? i + str : String.valueOf(i)))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection = createConnection();
+    ReplayProcessor<String> processor = ReplayProcessor.create();
+
+    Disposable disposable =
+        connection
+            .inbound()
+            .receiveDirect(
+                (buffer, offset, length, header) ->
+                    processor.onNext(buffer.getStringWithoutLengthUtf8(offset, length)));
+
+    StepVerifier.create(
+            processor.map(
+                s -> Integer.parseInt(s.endsWith("a") ? s.substring(0, s.indexOf('a')) : s)))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    disposable.dispose();
+  }
+
+  @Test
+  public void testClientReceivesBlocksFromServer() {
+    int count = 10_000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.range(0, count).map(String::valueOf))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    ReplayProcessor<String> processor = ReplayProcessor.create();
+
+    Disposable disposable =
+        connection
+            .inbound()
+            .receiveBlocks(
+                (buffer, offset, length, sessionId, termId) -> {
+                  for (int index = offset, limit = offset + length; index < limit; ) {
+                    int frameLength =
+                        buffer.getInt(
+                            index + DataHeaderFlyweight.FRAME_LENGTH_FIELD_OFFSET,
+                            ByteOrder.LITTLE_ENDIAN);
+                    int frameType =
+                        buffer.getShort(
+                                index + DataHeaderFlyweight.TYPE_FIELD_OFFSET,
+                                ByteOrder.LITTLE_ENDIAN)
+                            & 0xFFFF;
+                    if (frameType == DataHeaderFlyweight.HDR_TYPE_DATA) {
+                      processor.onNext(
+                          buffer.getStringWithoutLengthUtf8(
+                              index + DataHeaderFlyweight.HEADER_LENGTH,
+                              frameLength - DataHeaderFlyweight.HEADER_LENGTH));
+                    }
+                    index += BitUtil.align(frameLength, FrameDescriptor.FRAME_ALIGNMENT);
+                  }
+                },
+                64 * 1024);
+
+    StepVerifier.create(processor.map(Integer::parseInt))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    disposable.dispose();
+  }
+
+  @Test
+  public void testServerRepliesWithinEventLoop() {
+    int count = 100;
+    createServer(
+        connection -> {
+          connection
+              .inbound()
+              .receiveDirect(
+                  (buffer, offset, length, header) ->
+                      connection.outbound().tryOffer(buffer, offset, length));
+          return connection.onDispose();
+        });
+
+    AeronConnection connection =
+        createConnection(
+            c ->
+                c.outbound()
+                    .sendString(Flux.range(0, count).map(String::valueOf))
+                    .then(c.onDispose()));
+
+    StepVerifier.create(connection.inbound().receive().asString().map(Integer::parseInt))
+        .expectNextSequence(() -> IntStream.range(0, count).iterator())
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    UnsafeBuffer buffer = new UnsafeBuffer(new byte[1]);
+    assertThrows(RuntimeException.class, () -> connection.outbound().tryOffer(buffer, 0, 1));
+  }
+
+  @Test
+  public void testClientFragmentLimitIsNotShrunkByDemand() {
+    restartResources(r -> r.singleWorker().pollFragmentLimit(32).maxPollFragmentLimit(256));
+
+    int count = 200;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(
+                    Flux.range(0, count).map(String::valueOf).delayElements(Duration.ofMillis(1)))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    DefaultAeronInbound inbound = (DefaultAeronInbound) connection.inbound();
+    Set<Integer> fragmentLimits = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    // every poll is limited by demand (and takes less than a quarter of fragment limit), so it
+    // tells nothing about load of image
+    StepVerifier.create(
+            inbound
+                .receive()
+                .asString()
+                .doOnNext(s -> fragmentLimits.add(inbound.fragmentLimit()))
+                .limitRate(7))
+        .expectNextCount(count)
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    assertEquals(Collections.singleton(32), fragmentLimits);
+  }
+
+  @Test
+  public void testClientFragmentLimitGrowsUnderLoadWithinPollBudget() {
+    int budget = 32;
+    restartResources(
+        r ->
+            r.singleWorker()
+                .pollFragmentLimit(4)
+                .maxPollFragmentLimit(64)
+                .pollFragmentBudget(budget));
+
+    int count = 100_000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.range(0, count).map(String::valueOf))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    DefaultAeronInbound inbound = (DefaultAeronInbound) connection.inbound();
+    AeronEventLoop eventLoop = inbound.eventLoop();
+    // messages received per duty cycle, which is told by time cached by event loop once per cycle
+    long[] tick = {-1};
+    int[] received = {0};
+    int[] maxReceived = {0};
+    int[] maxFragmentLimit = {0};
+
+    StepVerifier.create(
+            inbound
+                .receive()
+                .asString()
+                .doOnNext(
+                    s -> {
+                      if (eventLoop.nanoTime() != tick[0]) {
+                        tick[0] = eventLoop.nanoTime();
+                        received[0] = 0;
+                      }
+                      maxReceived[0] = Math.max(maxReceived[0], ++received[0]);
+                      maxFragmentLimit[0] = Math.max(maxFragmentLimit[0], inbound.fragmentLimit());
+                    }))
+        .expectNextCount(count)
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    assertTrue(maxFragmentLimit[0] > 4, "fragment limit didn't grow: " + maxFragmentLimit[0]);
+    assertTrue(maxFragmentLimit[0] <= 64, "fragment limit exceeded max: " + maxFragmentLimit[0]);
+    assertTrue(maxReceived[0] <= budget, "duty cycle exceeded budget: " + maxReceived[0]);
+  }
+
+  @Test
+  public void testClientDropsDataExceedingReassemblyMaxMessageLength() {
+    restartResources(
+        r ->
+            r.singleWorker()
+                .reassemblyMaxMessageLength(Configuration.MTU_LENGTH * 4)
+                .reassemblyMemoryBudget(Configuration.MTU_LENGTH * 8));
+
+    char[] chars = new char[Configuration.MTU_LENGTH * 2];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+    String longStr = str + str + str;
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.just("1", longStr, "2", str, "3", str))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+    StepVerifier.create(connection.inbound().receive().asString())
+        .expectNext("1", "2", str, "3", str)
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testServerSendFailsOnBackpressureTimeout() {
+    char[] chars = new char[1024];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    MonoProcessor<Void> sendResult = MonoProcessor.create();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.backpressureTimeout(Duration.ofMillis(500)))
+        .handle(
+            connection -> {
+              connection
+                  .outbound()
+                  .sendString(Flux.range(0, Integer.MAX_VALUE).map(i -> str))
+                  .then()
+                  .subscribe(sendResult);
+              return connection.onDispose();
+            })
+        .bind()
+        .block(TIMEOUT);
+
+    // client never consumes inbound, so server gets back pressured
+    createConnection();
+
+    StepVerifier.create(sendResult)
+        .expectErrorMatches(ex -> ex.getMessage().contains("BACK_PRESSURED"))
+        .verify(TIMEOUT);
+  }
+
+  @Test
+  public void testServerSendFailsIfPublicationClosesWhileBatchIsStaged() {
+    restartResources(
+        r -> r.singleWorker().media(ctx -> ctx.publicationTermBufferLength(64 * 1024)));
+
+    char[] chars = new char[100];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    MonoProcessor<Void> sendResult = MonoProcessor.create();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(
+            opts ->
+                opts.outboundBatching(true)
+                    .outboundPrefetch(1)
+                    .backpressureTimeout(Duration.ofSeconds(10)))
+        .handle(
+            connection -> {
+              // once window is exhausted, the last message stays in staged batch, then stream
+              // completes and publication gets closed
+              connection
+                  .outbound()
+                  .sendString(
+                      Flux.range(0, Integer.MAX_VALUE)
+                          .map(i -> str)
+                          .takeUntilOther(Mono.delay(Duration.ofMillis(500))))
+                  .then()
+                  .subscribe(sendResult);
+              Mono.delay(Duration.ofMillis(1000)).subscribe(avoid -> connection.dispose());
+              return connection.onDispose();
+            })
+        .bind()
+        .block(TIMEOUT);
+
+    // client never consumes inbound, so server gets back pressured
+    createConnection();
+
+    StepVerifier.create(sendResult).expectError().verify(TIMEOUT);
+  }
+
+  @Test
+  public void testServerKeepsSeveralMessagesInFlightUpToPrefetch() {
+    int count = 1000;
+    int prefetch = 8;
+    AtomicLong requested = new AtomicLong();
+    AtomicLong emitted = new AtomicLong();
+    AtomicLong maxInFlight = new AtomicLong();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.outboundPrefetch(prefetch))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .sendString(
+                        Flux.range(0, count)
+                            .doOnRequest(requested::addAndGet)
+                            .doOnNext(
+                                i -> {
+                                  // requested but not yet emitted, including this message
+                                  long inFlight = requested.get() - emitted.getAndIncrement();
+                                  maxInFlight.accumulateAndGet(inFlight, Math::max);
+                                })
+                            .map(String::valueOf))
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(connection.inbound().receive().asString().take(count))
+        .expectNextSequence(() -> IntStream.range(0, count).mapToObj(String::valueOf).iterator())
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    logger.info("Max messages in flight: {}", maxInFlight.get());
+    assertTrue(maxInFlight.get() > 1, "more than one message must be in flight");
+    assertTrue(maxInFlight.get() <= prefetch, "demand must not exceed prefetch");
+  }
+
+  @Test
+  public void testServerDemandFollowsPublicationWindow() {
+    int termLength = 64 * 1024;
+    restartResources(
+        r -> r.singleWorker().media(ctx -> ctx.publicationTermBufferLength(termLength)));
+
+    int count = 2000;
+    int warmUp = 500;
+    int prefetch = 256;
+    int messageLength = 1000;
+    // publication window can't exceed half of term, so it holds less messages than prefetch
+    int maxTarget =
+        (termLength / 2)
+            / BitUtil.align(
+                DataHeaderFlyweight.HEADER_LENGTH + messageLength, FrameDescriptor.FRAME_ALIGNMENT);
+    char[] chars = new char[messageLength];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    AtomicLong requested = new AtomicLong();
+    AtomicLong published = new AtomicLong();
+    List<long[]> requests = Collections.synchronizedList(new ArrayList<>());
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.outboundPrefetch(prefetch))
+        .handle(
+            connection ->
+                connection
+                    .outbound()
+                    .send(
+                        Flux.range(0, count)
+                            .doOnRequest(
+                                n -> {
+                                  // published so far, requested but not yet published, request
+                                  long p = published.get();
+                                  requests.add(new long[] {p, requested.get() - p, n});
+                                  requested.addAndGet(n);
+                                })
+                            .map(i -> str),
+                        new StringHandler() {
+                          @Override
+                          public void dispose(String buffer) {
+                            // message is released once published
+                            published.incrementAndGet();
+                          }
+                        },
+                        Priority.NORMAL)
+                    .then(connection.onDispose()))
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(connection.inbound().receive().asString().take(count))
+        .expectNextCount(count)
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    List<long[]> steadyRequests =
+        requests.stream().filter(r -> r[0] >= warmUp).collect(Collectors.toList());
+    logger.info(
+        "Requests after warm up: {}",
+        steadyRequests.stream().map(r -> r[1] + "+" + r[2]).collect(Collectors.toList()));
+    assertTrue(steadyRequests.size() > 1);
+    for (long[] request : steadyRequests) {
+      long inFlight = request[1];
+      long n = request[2];
+      assertTrue(n <= maxTarget, "demand must follow window, request: " + n);
+      // demand is replenished in batches, once it dropped below a quarter of target
+      assertTrue(inFlight <= (inFlight + n) >> 2, "request " + n + " with in flight " + inFlight);
+    }
+  }
+
+  @Test
+  public void testServerParksBackpressuredPublicationUntilSlowClientCatchesUp() {
+    restartResources(
+        r -> r.singleWorker().media(ctx -> ctx.publicationTermBufferLength(64 * 1024)));
+
+    int count = 500;
+    char[] chars = new char[1000];
+    Arrays.fill(chars, 'a');
+    String str = new String(chars);
+
+    AtomicLong attempts = new AtomicLong();
+    AtomicLong published = new AtomicLong();
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(
+                    Flux.range(0, count).map(i -> str),
+                    new StringHandler() {
+                      @Override
+                      public DirectBuffer map(String buffer, int length) {
+                        // called on every attempt to publish message; attempts made before
+                        // client got connected are retried every tick, so they aren't counted
+                        if (published.get() > 0) {
+                          attempts.incrementAndGet();
+                        }
+                        return super.map(buffer, length);
+                      }
+
+                      @Override
+                      public void dispose(String buffer) {
+                        // message is released once published
+                        published.incrementAndGet();
+                      }
+                    },
+                    Priority.NORMAL)
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+
+    // client consumes a message per millisecond, far slower than server publishes
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receive()
+                .asString()
+                .concatMap(s -> Mono.delay(Duration.ofMillis(1)).thenReturn(s), 1)
+                .take(count))
+        .expectNextCount(count)
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    long failedAttempts = attempts.get() - (published.get() - 1);
+    logger.info("Published: {}, failed attempts: {}", published.get(), failedAttempts);
+    assertEquals(count, published.get());
+    // publication got back pressured, then it's retried only once client's progress advanced
+    // position limit, rather than on every duty cycle
+    assertTrue(failedAttempts > 0, "publication must get back pressured");
+    assertTrue(failedAttempts <= count, "failed attempts: " + failedAttempts);
+  }
+
+  @Test
+  public void testServerSendFailureDoesNotAffectOtherStreams() {
+    int count = 1000;
+    MonoProcessor<Void> failedSendResult = MonoProcessor.create();
+    MonoProcessor<Void> sendResult = MonoProcessor.create();
+
+    createServer(
+        connection -> {
+          connection
+              .outbound()
+              .send(
+                  Flux.range(0, count).map(String::valueOf),
+                  new StringHandler() {
+                    @Override
+                    public DirectBuffer map(String buffer, int length) {
+                      if ("5".equals(buffer)) {
+                        throw new IllegalStateException("failed to map " + buffer);
+                      }
+                      return super.map(buffer, length);
+                    }
+                  },
+                  Priority.NORMAL)
+              .then()
+              .subscribe(failedSendResult);
+          connection
+              .outbound()
+              .sendString(Flux.range(0, count).map(i -> "ok" + i))
+              .then()
+              .subscribe(sendResult);
+          return connection.onDispose();
+        });
+
+    AeronConnection connection = createConnection();
+
+    StepVerifier.create(
+            connection.inbound().receive().asString().filter(s -> s.startsWith("ok")).take(count))
+        .expectNextSequence(() -> IntStream.range(0, count).mapToObj(i -> "ok" + i).iterator())
+        .expectComplete()
+        .verify(TIMEOUT);
+
+    StepVerifier.create(failedSendResult)
+        .expectErrorMatches(ex -> ex.getMessage().equals("failed to map 5"))
+        .verify(TIMEOUT);
+    StepVerifier.create(sendResult).expectComplete().verify(TIMEOUT);
+  }
+
+  @Test
+  public void testServerServesStreamsByPriorityWithinQuota() {
+    int quota = 2;
+    int ticks = 100;
+    MonoProcessor<Void> subscribed = MonoProcessor.create();
+    MonoProcessor<Void> start = MonoProcessor.create();
+
+    AeronServer.create(resources)
+        .options("localhost", serverPort, serverControlPort)
+        .options(opts -> opts.outboundQuota(quota))
+        .handle(
+            connection -> {
+              // every stream publishes Priority.quota() messages per tick, so all of them end on
+              // the same tick if started together
+              send(connection, "h", Priority.HIGH.quota(quota) * ticks, Priority.HIGH, start);
+              send(connection, "a", Priority.NORMAL.quota(quota) * ticks, Priority.NORMAL, start);
+              send(connection, "b", Priority.NORMAL.quota(quota) * ticks, Priority.NORMAL, start);
+              send(connection, "l", Priority.LOW.quota(quota) * ticks, Priority.LOW, start);
+              subscribed.onComplete();
+              return connection.onDispose();
+            })
+        .bind()
+        .block(TIMEOUT);
+
+    AeronConnection connection = createConnection();
+    subscribed.block(TIMEOUT);
+    start.onComplete();
+
+    int overall = (4 + 2 + 2 + 1) * ticks;
+    List<String> received =
+        connection.inbound().receive().asString().take(overall).collectList().block(TIMEOUT);
+
+    // in the first half every stream got its weighted share, within couple of ticks
+    //noinspection ConstantConditions
+    Map<String, Long> shares =
+        received.stream()
+            .limit(overall / 2)
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+    logger.info("Shares of streams: {}", shares);
+    int halfTicks = ticks / 2;
+    assertShare(4 * halfTicks, shares.get("h"), 4 * 3);
+    assertShare(2 * halfTicks, shares.get("a"), 2 * 3);
+    assertShare(2 * halfTicks, shares.get("b"), 2 * 3);
+    assertShare(halfTicks, shares.get("l"), 3);
+  }
+
   @Test
   public void testClientReceivesLongDataFromServer() {
     char[] chars = new char[Configuration.MTU_LENGTH * 2];
@@ -90,6 +1179,40 @@ public void testClientReceivesLongDataFromServer() {
         .verify();
   }
 
+  @Test
+  public void testClientRetainsReassembledDataFromServer() {
+    int count = 10;
+    List<String> messages =
+        IntStream.range(0, count)
+            .mapToObj(
+                i -> {
+                  char[] chars = new char[Configuration.MTU_LENGTH * 2];
+                  Arrays.fill(chars, (char) ('a' + i));
+                  return new String(chars);
+                })
+            .collect(Collectors.toList());
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.fromIterable(messages))
+                .then(connection.onDispose()));
+
+    AeronConnection connection = createConnection();
+
+    // buffers are retained until all messages are received
+    List<DirectBuffer> buffers =
+        connection.inbound().receive().take(count).collectList().block(TIMEOUT);
+
+    //noinspection ConstantConditions
+    assertEquals(
+        messages,
+        buffers.stream()
+            .map(buffer -> buffer.getStringWithoutLengthUtf8(0, buffer.capacity()))
+            .collect(Collectors.toList()));
+  }
+
   @Test
   public void testTwoClientsReceiveDataFromServer() {
     createServer(
@@ -115,6 +1238,74 @@ public void testTwoClientsReceiveDataFromServer() {
         .verify();
   }
 
+  @Test
+  public void testClientsReceiveDataFromServerWithLeastConnectionsPlacement() {
+    restartResources(
+        r -> r.numOfWorkers(2).placementStrategy(PlacementStrategy.leastConnections()));
+
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .sendString(Flux.just("1", "2", "3"))
+                .then(connection.onDispose()));
+
+    for (int i = 0; i < 4; i++) {
+      AeronConnection connection = createConnection();
+      StepVerifier.create(connection.inbound().receive().asString())
+          .expectNext("1", "2", "3")
+          .expectNoEvent(Duration.ofMillis(10))
+          .thenCancel()
+          .verify(TIMEOUT);
+    }
+  }
+
+  @Test
+  public void testRequestResponseWhileClientConnectionMigrates() {
+    restartResources(r -> r.numOfWorkers(2));
+
+    int count = 100_000;
+    createServer(
+        connection ->
+            connection
+                .outbound()
+                .send(connection.inbound().receive())
+                .then(connection.onDispose()));
+
+    DuplexAeronConnection connection = (DuplexAeronConnection) createConnection();
+    DefaultAeronInbound inbound = (DefaultAeronInbound) connection.inbound();
+    MessagePublication publication = ((DefaultAeronOutbound) connection.outbound()).publication();
+    AeronEventLoop source = inbound.eventLoop();
+    AeronEventLoop target = resources.nextEventLoop(null);
+    if (target == source) {
+      target = resources.nextEventLoop(null);
+    }
+    Mono<Void> migrate = source.migrate(Arrays.asList(inbound, publication), target);
+
+    connection.outbound().sendString(Flux.range(0, count).map(String::valueOf)).then().subscribe();
+
+    StepVerifier.create(
+            connection
+                .inbound()
+                .receive()
+                .asString()
+                .doOnNext(
+                    s -> {
+                      if (s.equals("1000")) {
+                        migrate.subscribe();
+                      }
+                    }))
+        .expectNextSequence(
+            IntStream.range(0, count).mapToObj(String::valueOf).collect(Collectors.toList()))
+        .expectNoEvent(Duration.ofMillis(100))
+        .thenCancel()
+        .verify(TIMEOUT);
+
+    assertEquals(target, inbound.eventLoop());
+    assertEquals(target, publication.eventLoop());
+    assertEquals(target, inbound.subscription().eventLoop());
+  }
+
   @Test
   public void testClientsReceiveDataFromServer200000() {
     int count = 200_000;
@@ -474,6 +1665,12 @@ protected void hookOnSubscribe(Subscription subscription) {
         .verify(timeout);
   }
 
+  private void restartResources(UnaryOperator<AeronResources> settings) {
+    resources.dispose();
+    resources.onDispose().block(TIMEOUT);
+    resources = settings.apply(new AeronResources().useTmpDir()).start().block(TIMEOUT);
+  }
+
   private AeronConnection createConnection() {
     return createConnection(null /*handler*/);
   }
@@ -495,4 +1692,51 @@ private OnDisposable createServer(
         .bind()
         .block(TIMEOUT);
   }
+
+  private static void send(
+      AeronConnection connection, String tag, int count, Priority priority, Mono<Void> start) {
+    connection
+        .outbound()
+        .send(
+            Flux.range(0, count).map(i -> tag).delaySubscription(start),
+            new StringHandler(),
+            priority)
+        .then()
+        .subscribe(null, th -> logger.error("Failed to send {}: {}", tag, th.toString()));
+  }
+
+  private static void assertShare(long expected, Long actual, long delta) {
+    assertTrue(
+        actual != null && Math.abs(expected - actual) <= delta,
+        "expected " + expected + " +/- " + delta + ", actual: " + actual);
+  }
+
+  private static class StringHandler implements DirectBufferHandler<String> {
+
+    @Override
+    public int estimateLength(String buffer) {
+      return buffer.length();
+    }
+
+    @Override
+    public DirectBuffer map(String buffer, int length) {
+      return new UnsafeBuffer(buffer.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public void dispose(String buffer) {
+      // no-op
+    }
+  }
+
+  private static class QuoteFlyweight extends MessageFlyweight<QuoteFlyweight> {
+
+    long price() {
+      return getLong(0);
+    }
+
+    int id() {
+      return getInt(8);
+    }
+  }
 }
@@ -0,0 +1,150 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoProcessor;
+
+class AeronEventLoopTest extends BaseAeronTest {
+
+  private static final int COMMAND_DRAIN_LIMIT = 64;
+  private static final int NUM_OF_DISPOSALS = 100;
+
+  private AeronResources resources;
+
+  @BeforeEach
+  void beforeEach() {
+    resources = new AeronResources().useTmpDir().singleWorker().start().block();
+  }
+
+  @AfterEach
+  void afterEach() {
+    if (resources != null) {
+      resources.dispose();
+      resources.onDispose().block(TIMEOUT);
+    }
+  }
+
+  @Test
+  public void testCommandsAreDrainedInOrderWithinLimitOnceRingIsFull() throws Exception {
+    AeronEventLoop eventLoop = resources.firstEventLoop();
+
+    // block worker thread on running command, so that following commands pile up
+    CountDownLatch blocked = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    eventLoop
+        .register(new TestResource("blocker"))
+        .subscribe(
+            resource -> {
+              blocked.countDown();
+              awaitQuietly(release);
+            });
+    assertTrue(blocked.await(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+
+    // written by worker thread only
+    List<String> executed = new ArrayList<>();
+    List<Long> ticks = new ArrayList<>();
+
+    List<TestResource> registered = new ArrayList<>();
+    AtomicBoolean rejected = new AtomicBoolean();
+    while (!rejected.get() && registered.size() < 1 << 16) {
+      TestResource resource = new TestResource("r" + registered.size());
+      eventLoop
+          .register(resource)
+          .subscribe(
+              r -> {
+                executed.add(r.name);
+                ticks.add(eventLoop.nanoTime());
+              },
+              th -> rejected.set(true));
+      if (!rejected.get()) {
+        registered.add(resource);
+      }
+    }
+    assertTrue(rejected.get(), "registration must be rejected once command ring is full");
+    assertTrue(registered.size() > COMMAND_DRAIN_LIMIT);
+
+    // disposals are never rejected, they go to overflow queue preserving order
+    List<MonoProcessor<Void>> disposals = new ArrayList<>();
+    for (int i = 0; i < NUM_OF_DISPOSALS; i++) {
+      TestResource resource = registered.get(i);
+      MonoProcessor<Void> disposal = MonoProcessor.create();
+      eventLoop
+          .dispose(resource)
+          .doOnSuccess(
+              avoid -> {
+                executed.add("dispose-" + resource.name);
+                ticks.add(eventLoop.nanoTime());
+              })
+          .subscribe(disposal);
+      disposals.add(disposal);
+    }
+
+    // registration can't overtake commands in overflow queue
+    MonoProcessor<TestResource> lastRegistration = MonoProcessor.create();
+    eventLoop.register(new TestResource("last")).subscribe(lastRegistration);
+    assertTrue(lastRegistration.isError());
+
+    release.countDown();
+    Mono.when(disposals).block(TIMEOUT);
+
+    List<String> expected = new ArrayList<>();
+    registered.forEach(resource -> expected.add(resource.name));
+    registered.stream()
+        .limit(NUM_OF_DISPOSALS)
+        .forEach(resource -> expected.add("dispose-" + resource.name));
+    assertEquals(expected, executed);
+
+    for (int i = 0; i < registered.size(); i++) {
+      assertEquals(i < NUM_OF_DISPOSALS, registered.get(i).closed);
+    }
+
+    // every duty cycle runs no more than drain limit commands
+    Collection<Long> commandsPerTick =
+        ticks.stream()
+            .collect(Collectors.groupingBy(tick -> tick, Collectors.counting()))
+            .values();
+    logger.info("Commands run over {} duty cycles", commandsPerTick.size());
+    assertTrue(commandsPerTick.stream().allMatch(n -> n <= COMMAND_DRAIN_LIMIT));
+    assertTrue(commandsPerTick.size() >= expected.size() / COMMAND_DRAIN_LIMIT);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static class TestResource implements AeronResource {
+
+    private final String name;
+    private volatile boolean closed;
+
+    private TestResource(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    @Override
+    public String toString() {
+      return "TestResource{" + name + "}";
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class AeronOptionsTest extends BaseAeronTest {
+
+  @Test
+  public void testOutboundPrefetchAndQuotaMustBePositive() {
+    AeronOptions options = new AeronOptions();
+    assertThrows(IllegalArgumentException.class, () -> options.outboundPrefetch(0));
+    assertThrows(IllegalArgumentException.class, () -> options.outboundQuota(-1));
+    assertEquals(1, options.outboundPrefetch(1).outboundQuota(1).outboundPrefetch());
+  }
+
+  @Test
+  public void testOutboundBatchingThresholdMustBePositive() {
+    AeronOptions options = new AeronOptions();
+    assertThrows(IllegalArgumentException.class, () -> options.outboundBatchingThreshold(0));
+    assertEquals(1, options.outboundBatchingThreshold(1).outboundBatchingThreshold());
+    assertEquals(256, options.outboundBatchingThreshold());
+  }
+}
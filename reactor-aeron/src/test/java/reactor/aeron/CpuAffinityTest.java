@@ -0,0 +1,77 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+class CpuAffinityTest extends BaseAeronTest {
+
+  // far beyond CPUs of any test machine
+  private static final String UNAVAILABLE_CPU = "4095";
+
+  /**
+   * Returns the first CPU current process is allowed to run on (Linux only).
+   *
+   * @return CPU list of single CPU
+   */
+  static String allowedCpu() {
+    assumeTrue(System.getProperty("os.name", "").toLowerCase().startsWith("linux"));
+    try {
+      String allowed =
+          Files.readAllLines(Paths.get("/proc/self/status")).stream()
+              .filter(line -> line.startsWith("Cpus_allowed_list:"))
+              .map(line -> line.substring("Cpus_allowed_list:".length()).trim())
+              .findFirst()
+              .orElseThrow(() -> new IllegalStateException("Cpus_allowed_list is not found"));
+      return allowed.split("[,-]")[0];
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @Test
+  public void testApplyPinsCurrentThreadToAllowedCpu() throws Exception {
+    String cpu = allowedCpu();
+    boolean[] pinned = new boolean[1];
+    Thread thread = new Thread(() -> pinned[0] = CpuAffinity.apply(cpu));
+    thread.start();
+    thread.join();
+    assertTrue(pinned[0]);
+  }
+
+  @Test
+  public void testVerifyFailsOnUnavailableCpu() {
+    assertThrows(IllegalStateException.class, () -> CpuAffinity.verify(UNAVAILABLE_CPU));
+  }
+
+  @Test
+  public void testResourcesFailToStartIfWorkerCpuAffinityCantBeApplied() {
+    AeronResources resources =
+        new AeronResources().useTmpDir().singleWorker().workerCpuAffinity(UNAVAILABLE_CPU);
+
+    StepVerifier.create(resources.start())
+        .expectError(IllegalStateException.class)
+        .verify(TIMEOUT);
+    resources.onDispose().block(TIMEOUT);
+  }
+
+  @Test
+  public void testResourcesFailToStartIfMediaCpuAffinityCantBeApplied() {
+    AeronResources resources =
+        new AeronResources()
+            .useTmpDir()
+            .singleWorker()
+            .mediaCpuAffinity(null, UNAVAILABLE_CPU, null);
+
+    StepVerifier.create(resources.start())
+        .expectError(IllegalStateException.class)
+        .verify(TIMEOUT);
+    resources.onDispose().block(TIMEOUT);
+  }
+}
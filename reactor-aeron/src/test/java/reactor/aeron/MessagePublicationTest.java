@@ -0,0 +1,27 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class MessagePublicationTest extends BaseAeronTest {
+
+  private static final int MAX_PAYLOAD_LENGTH = 1376;
+
+  @Test
+  public void testFrameLengthIncludesHeaderAndAlignment() {
+    assertEquals(32, MessagePublication.frameLength(0, MAX_PAYLOAD_LENGTH));
+    assertEquals(64, MessagePublication.frameLength(1, MAX_PAYLOAD_LENGTH));
+    assertEquals(64, MessagePublication.frameLength(32, MAX_PAYLOAD_LENGTH));
+    assertEquals(96, MessagePublication.frameLength(33, MAX_PAYLOAD_LENGTH));
+    assertEquals(1408, MessagePublication.frameLength(MAX_PAYLOAD_LENGTH, MAX_PAYLOAD_LENGTH));
+  }
+
+  @Test
+  public void testFrameLengthOfFragmentedMessageIncludesHeaderOfEveryFragment() {
+    assertEquals(1408 + 64, MessagePublication.frameLength(1377, MAX_PAYLOAD_LENGTH));
+    assertEquals(2 * 1408, MessagePublication.frameLength(2 * 1376, MAX_PAYLOAD_LENGTH));
+    assertEquals(
+        2 * 1408 + 1024, MessagePublication.frameLength(2 * 1376 + 992, MAX_PAYLOAD_LENGTH));
+  }
+}
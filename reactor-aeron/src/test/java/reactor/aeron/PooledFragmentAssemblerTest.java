@@ -0,0 +1,70 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.aeron.logbuffer.ControlledFragmentHandler.Action;
+import io.aeron.logbuffer.FrameDescriptor;
+import io.aeron.logbuffer.Header;
+import io.aeron.protocol.DataHeaderFlyweight;
+import java.nio.ByteOrder;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
+
+class PooledFragmentAssemblerTest extends BaseAeronTest {
+
+  private static final int FRAGMENT_LENGTH = 4000;
+  private static final int NUM_OF_IMAGES = 4;
+  private static final int NUM_OF_MESSAGES = 8;
+  private static final int MAX_ROUNDS = 1000;
+
+  @Test
+  public void testImagesReassemblingConcurrentlyDoNotExhaustSmallBudget() {
+    // every message needs buffer of 16k, budget is enough to start reassembling all of them
+    ReassemblyBufferPool pool = new ReassemblyBufferPool(16 * 1024, NUM_OF_IMAGES * 4096);
+    int[] delivered = new int[1];
+    byte[] flags = {FrameDescriptor.BEGIN_FRAG_FLAG, 0, 0, FrameDescriptor.END_FRAG_FLAG};
+
+    PooledFragmentAssembler[] assemblers = new PooledFragmentAssembler[NUM_OF_IMAGES];
+    int[] positions = new int[NUM_OF_IMAGES];
+    for (int i = 0; i < NUM_OF_IMAGES; i++) {
+      assemblers[i] =
+          new PooledFragmentAssembler(
+              (buffer, offset, length, header) -> {
+                assertEquals(flags.length * FRAGMENT_LENGTH, length);
+                delivered[0]++;
+                return Action.CONTINUE;
+              },
+              pool);
+    }
+
+    // poll images in turn, single fragment per poll, as event loop would do
+    int total = NUM_OF_MESSAGES * flags.length;
+    for (int round = 0; round < MAX_ROUNDS; round++) {
+      for (int i = 0; i < NUM_OF_IMAGES; i++) {
+        if (positions[i] < total
+            && onFragment(assemblers[i], i, flags[positions[i] % flags.length]) != Action.ABORT) {
+          positions[i]++;
+        }
+      }
+    }
+
+    for (int i = 0; i < NUM_OF_IMAGES; i++) {
+      assertEquals(total, positions[i], "image " + i + " got stuck");
+    }
+    assertTrue(delivered[0] > 0);
+    assertEquals(NUM_OF_IMAGES * NUM_OF_MESSAGES, delivered[0] + pool.getDroppedMessages());
+    assertEquals(0, pool.getBorrowedBuffers());
+  }
+
+  private static Action onFragment(PooledFragmentAssembler assembler, int sessionId, byte flags) {
+    UnsafeBuffer frame =
+        new UnsafeBuffer(new byte[DataHeaderFlyweight.HEADER_LENGTH + FRAGMENT_LENGTH]);
+    frame.putByte(DataHeaderFlyweight.FLAGS_FIELD_OFFSET, flags);
+    frame.putInt(DataHeaderFlyweight.SESSION_ID_FIELD_OFFSET, sessionId, ByteOrder.LITTLE_ENDIAN);
+    Header header = new Header(0, 16);
+    header.buffer(frame);
+    header.offset(0);
+    return assembler.onFragment(frame, DataHeaderFlyweight.HEADER_LENGTH, FRAGMENT_LENGTH, header);
+  }
+}
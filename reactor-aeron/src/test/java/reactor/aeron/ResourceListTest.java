@@ -0,0 +1,97 @@
+package reactor.aeron;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ResourceListTest extends BaseAeronTest {
+
+  @Test
+  public void testRemoveMovesLastElementToFreedIndex() {
+    ResourceList<String> list = new ResourceList<>();
+    assertTrue(list.add("a"));
+    assertTrue(list.add("b"));
+    assertTrue(list.add("c"));
+    assertTrue(list.add("d"));
+    assertFalse(list.add("b"));
+
+    assertTrue(list.remove("b"));
+    assertFalse(list.remove("b"));
+    assertEquals(3, list.size());
+    assertEquals("a", list.get(0));
+    assertEquals("d", list.get(1));
+    assertEquals("c", list.get(2));
+
+    // index of moved element is updated
+    assertTrue(list.remove("d"));
+    assertEquals("a", list.get(0));
+    assertEquals("c", list.get(1));
+
+    // removing the last element moves nothing
+    assertSame("c", list.removeAt(1));
+    assertEquals(1, list.size());
+    assertEquals("a", list.get(0));
+    assertFalse(list.contains("c"));
+
+    assertTrue(list.remove("a"));
+    assertTrue(list.isEmpty());
+    assertTrue(list.add("a"));
+    assertEquals("a", list.get(0));
+  }
+
+  @Test
+  public void testIndicesStayConsistentUnderChurn() {
+    ResourceList<Integer> list = new ResourceList<>();
+    Set<Integer> expected = new HashSet<>();
+    List<Integer> present = new ArrayList<>();
+    Random random = new Random(42);
+
+    for (int i = 0; i < 10_000; i++) {
+      int value = random.nextInt(100);
+      if (random.nextBoolean()) {
+        assertEquals(expected.add(value), list.add(value));
+      } else {
+        assertEquals(expected.remove(value), list.remove(value));
+      }
+      assertEquals(expected.size(), list.size());
+    }
+
+    // every element is reachable by index and is present once
+    for (int i = 0; i < list.size(); i++) {
+      present.add(list.get(i));
+    }
+    assertEquals(expected, new HashSet<>(present));
+    assertEquals(expected.size(), present.size());
+    for (Integer value : expected) {
+      assertTrue(list.contains(value));
+      assertTrue(list.remove(value));
+      assertFalse(list.contains(value));
+    }
+    assertTrue(list.isEmpty());
+  }
+
+  @Test
+  public void testClearReleasesElements() {
+    ResourceList<String> list = new ResourceList<>();
+    for (int i = 0; i < 100; i++) {
+      list.add("e" + i);
+    }
+    list.clear();
+
+    assertTrue(list.isEmpty());
+    assertFalse(list.contains("e0"));
+    assertNull(list.get(0));
+    assertNull(list.get(99));
+    assertTrue(list.add("e0"));
+    assertEquals("e0", list.get(0));
+  }
+}